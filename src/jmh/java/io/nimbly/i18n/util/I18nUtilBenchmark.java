@@ -0,0 +1,96 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import io.nimbly.i18n.translate.GoogleTranslationBackend;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * I18nUtilBenchmark
+ * String routines of I18nUtil, run over a synthetic bundle
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class I18nUtilBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int keys;
+
+    private String[] asciiValues;
+    private String[] accentValues;
+    private String[] escapedValues;
+    private String[] bundleKeys;
+    private String[] paths;
+    private String[] responses;
+
+    @Setup
+    public void setup() {
+        asciiValues = new String[keys];
+        accentValues = new String[keys];
+        escapedValues = new String[keys];
+        bundleKeys = new String[keys];
+        paths = new String[keys];
+        responses = new String[keys];
+
+        for (int i = 0; i < keys; i++) {
+            asciiValues[i] = "Save the order form number " + i;
+            accentValues[i] = "Enregistrer le formulaire de commande n°" + i + "\ndéjà validé";
+            escapedValues[i] = I18nUtil.unicodeEscape(accentValues[i]);
+            bundleKeys[i] = "order.form.saveButton_" + i + ".LABEL";
+            paths[i] = "io/nimbly/module" + (i % 100) + "/Messages_fr.properties";
+            responses[i] = "[[[\"Enregistrer " + i + "\",\"Save " + i + "\",null,null,10]],null,\"en\"]";
+        }
+    }
+
+    @Benchmark
+    public void unicodeEscapeAscii(Blackhole bh) {
+        for (String s : asciiValues)
+            bh.consume(I18nUtil.unicodeEscape(s));
+    }
+
+    @Benchmark
+    public void unicodeEscapeAccents(Blackhole bh) {
+        for (String s : accentValues)
+            bh.consume(I18nUtil.unicodeEscape(s));
+    }
+
+    @Benchmark
+    public void unescapeKeepCR(Blackhole bh) {
+        for (String s : escapedValues)
+            bh.consume(I18nUtil.unescapeKeepCR(s));
+    }
+
+    @Benchmark
+    public void getBundle(Blackhole bh) {
+        for (String s : paths)
+            bh.consume(I18nUtil.getBundle(s));
+    }
+
+    @Benchmark
+    public void prepareKeyForGoogleTranslation(Blackhole bh) {
+        for (String s : bundleKeys)
+            bh.consume(I18nUtil.prepareKeyForGoogleTranslation(s));
+    }
+
+    @Benchmark
+    public void parseResult(Blackhole bh) {
+        for (String s : responses)
+            bh.consume(GoogleTranslationBackend.parseResult(s));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KeyLookupBenchmark
+ * Key lookup over synthetic bundles of <code>keys</code> keys into <code>locales</code> languages,
+ * half of the searched keys being defined. PSI is not available out of the IDE : files are light proxies
+ * answering <code>findPropertyByKey</code> from a key map, as properties files do.
+ * <ul>
+ *   <li>scan : each file of the bundle is searched, as done while indexing is in progress</li>
+ *   <li>index : files are found from the key -> files map, as built by the key index</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KeyLookupBenchmark {
+
+    private static final int LOOKUPS = 1000;
+
+    @Param({"1000", "10000", "100000"})
+    public int keys;
+
+    @Param({"1", "10", "50"})
+    public int locales;
+
+    private PropertiesFile[] files;
+    private Map<String, List<PropertiesFile>> index;
+    private SortedPropertyKeys[] sortedKeys;
+    private String[] searched;
+    private String[] inserted;
+
+    @Setup
+    public void setup() {
+
+        List<IProperty> properties = new ArrayList<>(keys);
+        Map<String, IProperty> byKey = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            IProperty p = property(String.format("module.form%06d.field.label", i));
+            properties.add(p);
+            byKey.put(p.getUnescapedKey(), p);
+        }
+
+        files = new PropertiesFile[locales];
+        index = new HashMap<>();
+        sortedKeys = new SortedPropertyKeys[locales];
+        for (int l = 0; l < locales; l++) {
+            files[l] = file("Messages_l" + l + ".properties", byKey);
+            sortedKeys[l] = new SortedPropertyKeys(properties);
+            for (IProperty p : properties)
+                index.computeIfAbsent(p.getUnescapedKey(), k -> new ArrayList<>()).add(files[l]);
+        }
+
+        Random random = new Random(42);
+        searched = new String[LOOKUPS];
+        inserted = new String[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int n = random.nextInt(keys);
+            searched[i] = String.format(i % 2 == 0 ? "module.form%06d.field.label" : "module.form%06d.field.missing", n);
+            inserted[i] = String.format("module.form%06d.field.new", n);
+        }
+    }
+
+    @Benchmark
+    public void findPropertyByKeyScan(Blackhole bh) {
+        for (String key : searched) {
+            for (PropertiesFile f : files) {
+                IProperty p = f.findPropertyByKey(key);
+                if (p != null) {
+                    bh.consume(I18nUtil.getLanguage(f));
+                    bh.consume(p);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void findPropertyByKeyIndex(Blackhole bh) {
+        for (String key : searched) {
+            for (PropertiesFile f : index.getOrDefault(key, Collections.emptyList())) {
+                bh.consume(I18nUtil.getLanguage(f));
+                bh.consume(f.findPropertyByKey(key));
+            }
+        }
+    }
+
+    @Benchmark
+    public void findInsertionAnchor(Blackhole bh) {
+        for (String key : inserted) {
+            for (SortedPropertyKeys sk : sortedKeys)
+                bh.consume(sk.findAnchor(key));
+        }
+    }
+
+    private static IProperty property(String key) {
+        return (IProperty) Proxy.newProxyInstance(KeyLookupBenchmark.class.getClassLoader(), new Class[]{IProperty.class},
+                (proxy, method, args) -> {
+                    if ("getUnescapedKey".equals(method.getName()) || "getKey".equals(method.getName()))
+                        return key;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static PropertiesFile file(String name, Map<String, IProperty> properties) {
+        return (PropertiesFile) Proxy.newProxyInstance(KeyLookupBenchmark.class.getClassLoader(), new Class[]{PropertiesFile.class},
+                (proxy, method, args) -> {
+                    if ("getName".equals(method.getName()))
+                        return name;
+                    if ("getVirtualFile".equals(method.getName()))
+                        return null;
+                    if ("findPropertyByKey".equals(method.getName()))
+                        return properties.get((String) args[0]);
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
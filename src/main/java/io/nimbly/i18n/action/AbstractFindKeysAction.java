@@ -0,0 +1,103 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.action;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task.Backgroundable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiElement;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.usages.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+import static io.nimbly.i18n.view.TranslationSnapView.NIMBLY;
+
+/**
+ * AbstractFindKeysAction
+ * Search keys of the whole project in background, and show them into the find tool window.
+ */
+public abstract class AbstractFindKeysAction extends AnAction {
+
+    /**
+     * Gets title, i.e. 'Unused I18N keys'
+     */
+    @NotNull
+    protected abstract String getTitle();
+
+    /**
+     * Find elements, called into a read action in smart mode
+     */
+    @NotNull
+    protected abstract List<? extends PsiElement> find(@NotNull Project project);
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+
+        Project project = e.getProject();
+        if (project == null)
+            return;
+
+        String title = getTitle();
+        ProgressManager.getInstance()
+                .run(new Backgroundable(project, "Searching " + title.toLowerCase(), true) {
+
+                    private Usage[] usages = Usage.EMPTY_ARRAY;
+
+                    @Override
+                    public void run(@NotNull ProgressIndicator indicator) {
+
+                        indicator.setIndeterminate(true);
+                        usages = ReadAction.nonBlocking(() -> toUsages(find(project)))
+                                .inSmartMode(project)
+                                .wrapProgress(indicator)
+                                .executeSynchronously();
+                    }
+
+                    @Override
+                    public void onSuccess() {
+
+                        if (usages.length == 0) {
+                            Messages.showInfoMessage(project, "No " + title.toLowerCase() + " found", NIMBLY);
+                            return;
+                        }
+
+                        UsageViewPresentation presentation = new UsageViewPresentation();
+                        presentation.setTabText(title);
+                        presentation.setCodeUsagesString(title);
+                        presentation.setUsagesString(title.toLowerCase());
+                        UsageViewManager.getInstance(project).showUsages(UsageTarget.EMPTY_ARRAY, usages, presentation);
+                    }
+                });
+    }
+
+    private static Usage[] toUsages(List<? extends PsiElement> elements) {
+        Usage[] usages = new Usage[elements.size()];
+        for (int i = 0; i < usages.length; i++)
+            usages[i] = new UsageInfo2UsageAdapter(new UsageInfo(elements.get(i)));
+        return usages;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.action;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import io.nimbly.i18n.index.I18nKeyUsageSearch;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * FindUnusedKeysAction
+ * Find keys of project properties files used by no java literal.
+ */
+public class FindUnusedKeysAction extends AbstractFindKeysAction {
+
+    @NotNull
+    @Override
+    protected String getTitle() {
+        return "Unused I18N Keys";
+    }
+
+    @NotNull
+    @Override
+    protected List<? extends PsiElement> find(@NotNull Project project) {
+        return I18nKeyUsageSearch.findUnusedKeys(project);
+    }
+}
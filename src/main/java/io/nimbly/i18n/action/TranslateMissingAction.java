@@ -0,0 +1,146 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.action;
+
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task.Backgroundable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.psi.PsiFile;
+import io.nimbly.i18n.translate.MissingTranslator;
+import io.nimbly.i18n.util.LoggerFactory;
+import io.nimbly.i18n.view.MissingTranslationsDialog;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+
+import static io.nimbly.i18n.view.TranslationSnapView.NIMBLY;
+
+/**
+ * TranslateMissingAction
+ * Translate all keys missing, or empty, into some language of the selected resource bundle.
+ * Translations are previewed, then written into one single undoable command.
+ */
+public class TranslateMissingAction extends AnAction {
+
+    private static final Logger LOG = LoggerFactory.getInstance(TranslateMissingAction.class);
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabledAndVisible(e.getProject() != null && getResourceBundle(e) != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+
+        Project project = e.getProject();
+        ResourceBundle bundle = getResourceBundle(e);
+        if (project == null || bundle == null)
+            return;
+
+        String bundleName = bundle.getBaseName();
+        ProgressManager.getInstance()
+                .run(new Backgroundable(project, "Translate missing keys of '" + bundleName + "'", true) {
+
+                    private List<MissingTranslator.Entry> entries = Collections.emptyList();
+
+                    @Override
+                    public void run(@NotNull ProgressIndicator indicator) {
+
+                        indicator.setIndeterminate(false);
+                        indicator.setText("Searching missing translations");
+                        entries = ReadAction.compute(() -> bundle.isValid() ? MissingTranslator.scan(bundle) : Collections.emptyList());
+                        if (entries.isEmpty())
+                            return;
+
+                        indicator.setText("Translating " + entries.size() + " missing translations");
+                        try {
+                            new MissingTranslator(project).translate(entries, indicator);
+                        } catch (UnknownHostException | SocketTimeoutException ex) {
+                            throw new CommunicationException(ex);
+                        } catch (IOException ex) {
+                            throw new RuntimeException(ex);
+                        }
+                    }
+
+                    @Override
+                    public void onSuccess() {
+
+                        if (entries.isEmpty()) {
+                            Messages.showInfoMessage(project, "No missing translation into '" + bundleName + "'", NIMBLY);
+                            return;
+                        }
+
+                        // dry run : nothing is written until applied
+                        MissingTranslationsDialog dialog = new MissingTranslationsDialog(project, bundleName, entries);
+                        if (!dialog.showAndGet() || !bundle.isValid())
+                            return;
+
+                        MissingTranslator.toBulkOperation(dialog.getSelectedEntries())
+                                .apply(bundle, project, "Translate missing keys of '" + bundleName + "'");
+                    }
+
+                    @Override
+                    public void onThrowable(@NotNull Throwable error) {
+
+                        if (error instanceof CommunicationException) {
+                            LOG.warn("Communication error", error);
+                            Messages.showErrorDialog(project, "Communication error. Check your internet connection and proxy settings", NIMBLY);
+                            return;
+                        }
+
+                        LOG.error("Translation error", error);
+                        Messages.showErrorDialog(project, "Translation error. See logs for more informations", NIMBLY);
+                    }
+                });
+    }
+
+    @Nullable
+    private static ResourceBundle getResourceBundle(@NotNull AnActionEvent e) {
+
+        ResourceBundle[] bundles = e.getData(ResourceBundle.ARRAY_DATA_KEY);
+        if (bundles != null && bundles.length == 1)
+            return bundles[0];
+
+        PsiFile file = e.getData(CommonDataKeys.PSI_FILE);
+        if (file instanceof PropertiesFile)
+            return ((PropertiesFile) file).getResourceBundle();
+
+        return null;
+    }
+
+    /*******************************************
+     *  CommunicationException
+     */
+    private static class CommunicationException extends RuntimeException {
+
+        CommunicationException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
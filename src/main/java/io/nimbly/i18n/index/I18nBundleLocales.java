@@ -0,0 +1,91 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import io.nimbly.i18n.util.I18nUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * I18nBundleLocales
+ * Immutable table of the properties files of a bundle, by language
+ */
+public class I18nBundleLocales {
+
+    private final String baseName;
+    private final Map<String, PropertiesFile> files;
+    private final List<String> languages;
+
+    I18nBundleLocales(@NotNull ResourceBundle bundle) {
+
+        this.baseName = bundle.getBaseName();
+
+        Map<String, PropertiesFile> map = new HashMap<>();
+        List<String> list = new ArrayList<>();
+        for (PropertiesFile f : bundle.getPropertiesFiles()) {
+
+            String lang = I18nUtil.getLanguage(f);
+            if (lang == null)
+                continue;
+
+            list.add(lang);
+            map.putIfAbsent(lang, f);
+        }
+
+        if (list.remove("de")) list.add(0, "de");
+        if (list.remove("es")) list.add(0, "es");
+        if (list.remove("fr")) list.add(0, "fr");
+        if (list.remove("en")) list.add(0, "en");
+
+        this.files = Collections.unmodifiableMap(map);
+        this.languages = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Gets ordered languages
+     */
+    @NotNull
+    public List<String> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Gets properties file of the language
+     */
+    @Nullable
+    public PropertiesFile getFile(@NotNull String language) {
+        return files.get(language);
+    }
+
+    /**
+     * Files are still valid, i.e. not reparsed
+     */
+    boolean isValid() {
+        for (PropertiesFile f : files.values()) {
+            if (!f.getContainingFile().isValid())
+                return false;
+        }
+        return true;
+    }
+
+    @NotNull
+    String getBaseName() {
+        return baseName;
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.PropertiesFileType;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.*;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.messages.MessageBusConnection;
+import io.nimbly.i18n.util.I18nMetrics;
+import io.nimbly.i18n.util.I18nUtil;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * I18nBundleRegistry
+ * Per module cache of resource bundles, and per bundle table of properties files by language.
+ * When a properties file is added, removed, moved or renamed, only the bundles whose base name may be
+ * the one of this file are computed again, on next access. Module bundles are computed again when module roots are changing.
+ */
+public class I18nBundleRegistry implements Disposable {
+
+    private static final Logger LOG = LoggerFactory.getInstance(I18nBundleRegistry.class);
+
+    private static final String EXTENSION = ".properties";
+
+    private final Project project;
+    private final Map<Module, ModuleBundles> bundles = new ConcurrentHashMap<>();
+    private final Map<ResourceBundle, I18nBundleLocales> locales = new ConcurrentHashMap<>();
+
+    /** Base names of the bundles to compute again, see {@link #getBaseNames(String)} */
+    private final Set<String> changes = ConcurrentHashMap.newKeySet();
+
+    public static I18nBundleRegistry getInstance(@NotNull Project project) {
+        return project.getService(I18nBundleRegistry.class);
+    }
+
+    public I18nBundleRegistry(Project project) {
+        this.project = project;
+
+        MessageBusConnection connection = project.getMessageBus().connect(this);
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new MyBulkFileListener());
+        connection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+            @Override
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                // TIPS : roots decide which module owns a file, bundles by language are still valid
+                bundles.clear();
+            }
+        });
+        connection.subscribe(ModuleListener.TOPIC, new ModuleListener() {
+            @Override
+            public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+                bundles.remove(module);
+            }
+        });
+    }
+
+    /**
+     * Gets resource bundles.
+     *
+     * @param module the module
+     * @return the resource bundles, module ones first then dependencies
+     */
+    @NotNull
+    public List<ResourceBundle> getResourceBundles(@NotNull Module module) {
+
+        if (!changes.isEmpty())
+            applyChanges();
+
+        ModuleBundles mb = bundles.get(module);
+        if (mb != null && mb.isValid()) {
+            I18nMetrics.hit("resourceBundles");
+            return mb.all;
+        }
+
+        if (mb != null) {
+            LOG.trace("getResourceBundles for module '" + module.getName() + "' : psi invalidated");
+            bundles.remove(module, mb);
+            locales.keySet().removeIf(b -> !isValid(b));
+        }
+
+        I18nMetrics.miss("resourceBundles");
+        LOG.trace("getResourceBundles for module '" + module.getName() + "' : compute");
+
+        Set<ResourceBundle> main = ConcurrentHashMap.newKeySet();
+        Set<ResourceBundle> secondary = ConcurrentHashMap.newKeySet();
+        I18nUtil.collectResourceBundles(module, FileTypeIndex.getFiles(PropertiesFileType.INSTANCE, GlobalSearchScope.projectScope(project)), main, secondary);
+
+        mb = new ModuleBundles();
+        mb.add(main, secondary);
+        bundles.put(module, mb);
+        return mb.all;
+    }
+
+    /**
+     * Gets properties files of the bundle by language
+     *
+     * @param bundle the bundle
+     * @return the bundle locales
+     */
+    @NotNull
+    public I18nBundleLocales getLocales(@NotNull ResourceBundle bundle) {
+
+        if (!changes.isEmpty())
+            applyChanges();
+
+        I18nBundleLocales bl = locales.get(bundle);
+        if (bl != null && bl.isValid()) {
+            I18nMetrics.hit("bundleLocales");
+            return bl;
+        }
+
+        I18nMetrics.miss("bundleLocales");
+        bl = new I18nBundleLocales(bundle);
+        locales.put(bundle, bl);
+        return bl;
+    }
+
+    /**
+     * Invalidate all cached bundles
+     */
+    public void invalidate() {
+        bundles.clear();
+        locales.clear();
+        changes.clear();
+    }
+
+    /**
+     * Compute again bundles whose base name was changed
+     */
+    private synchronized void applyChanges() {
+
+        if (changes.isEmpty())
+            return;
+
+        Set<String> names = new HashSet<>(changes);
+        changes.removeAll(names);
+        try {
+            locales.values().removeIf(bl -> names.contains(bl.getBaseName()));
+            if (bundles.isEmpty())
+                return;
+
+            List<VirtualFile> files = new ArrayList<>();
+            for (VirtualFile vf : FileTypeIndex.getFiles(PropertiesFileType.INSTANCE, GlobalSearchScope.projectScope(project))) {
+                if (!Collections.disjoint(names, getBaseNames(vf.getName())))
+                    files.add(vf);
+            }
+
+            for (Iterator<Map.Entry<Module, ModuleBundles>> it = bundles.entrySet().iterator(); it.hasNext(); ) {
+
+                Map.Entry<Module, ModuleBundles> e = it.next();
+                if (e.getKey().isDisposed()) {
+                    it.remove();
+                    continue;
+                }
+
+                Set<ResourceBundle> main = ConcurrentHashMap.newKeySet();
+                Set<ResourceBundle> secondary = ConcurrentHashMap.newKeySet();
+                I18nUtil.collectResourceBundles(e.getKey(), files, main, secondary);
+
+                e.getValue().remove(names);
+                e.getValue().add(main, secondary);
+            }
+            LOG.trace("Bundles computed again : " + names);
+
+        } catch (RuntimeException e) {
+            // TIPS : i.e. index not ready or canceled, will be done on next access
+            changes.addAll(names);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets base names of the bundles a properties file may belong to : 'app_messages_fr.properties' may belong
+     * to 'app_messages_fr', 'app_messages' or 'app'. The base name given by IntelliJ to its bundle, whatever
+     * the locale suffix is, is always one of them
+     *
+     * @param fileName the file name
+     * @return the base names, empty if file is not a properties file
+     */
+    @NotNull
+    static List<String> getBaseNames(@NotNull String fileName) {
+
+        if (!fileName.endsWith(EXTENSION))
+            return Collections.emptyList();
+
+        String name = fileName.substring(0, fileName.length() - EXTENSION.length());
+        List<String> names = new ArrayList<>();
+        names.add(name);
+        for (int i = name.lastIndexOf('_'); i > 0; i = name.lastIndexOf('_', i - 1))
+            names.add(name.substring(0, i));
+        return names;
+    }
+
+    static boolean isValid(@NotNull ResourceBundle bundle) {
+        return bundle.getDefaultPropertiesFile().getContainingFile().isValid();
+    }
+
+    @Override
+    public void dispose() {
+        invalidate();
+    }
+
+    /*******************************************
+     *  ModuleBundles
+     */
+    private static class ModuleBundles {
+
+        private final Map<ResourceBundle, String> main = new HashMap<>();
+        private final Map<ResourceBundle, String> secondary = new HashMap<>();
+        private volatile List<ResourceBundle> all = Collections.emptyList();
+
+        void add(Collection<ResourceBundle> mainBundles, Collection<ResourceBundle> secondaryBundles) {
+            for (ResourceBundle b : mainBundles)
+                main.put(b, b.getBaseName());
+            for (ResourceBundle b : secondaryBundles)
+                secondary.put(b, b.getBaseName());
+
+            List<ResourceBundle> list = sorted(main);
+            list.addAll(sorted(secondary));
+            all = Collections.unmodifiableList(list);
+        }
+
+        boolean isValid() {
+            for (ResourceBundle b : all) {
+                if (!I18nBundleRegistry.isValid(b))
+                    return false;
+            }
+            return true;
+        }
+
+        void remove(Set<String> names) {
+            main.values().removeIf(names::contains);
+            secondary.values().removeIf(names::contains);
+        }
+
+        private static List<ResourceBundle> sorted(Map<ResourceBundle, String> map) {
+            List<ResourceBundle> list = new ArrayList<>(map.keySet());
+            list.sort(Comparator.comparing(map::get));
+            return list;
+        }
+    }
+
+    /*******************************************
+     *  MyBulkFileListener
+     */
+    private class MyBulkFileListener implements BulkFileListener {
+
+        @Override
+        public void before(@NotNull List<? extends VFileEvent> events) {
+
+            if (bundles.isEmpty() && locales.isEmpty())
+                return;
+
+            // files leaving their location
+            for (VFileEvent event : events) {
+                if (event instanceof VFileDeleteEvent || event instanceof VFileMoveEvent)
+                    collect(event.getFile());
+            }
+        }
+
+        @Override
+        public void after(@NotNull List<? extends VFileEvent> events) {
+
+            if (bundles.isEmpty() && locales.isEmpty())
+                return;
+
+            // files reaching their location
+            for (VFileEvent event : events) {
+
+                if (event instanceof VFileCreateEvent || event instanceof VFileMoveEvent) {
+                    collect(event.getFile());
+                }
+                else if (event instanceof VFileCopyEvent) {
+                    collect(((VFileCopyEvent) event).findCreatedFile());
+                }
+                else if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent) event).isRename()) {
+                    VFilePropertyChangeEvent rename = (VFilePropertyChangeEvent) event;
+                    addBaseNames(String.valueOf(rename.getOldValue()));
+                    collect(event.getFile());
+                }
+            }
+        }
+
+        private void collect(@Nullable VirtualFile file) {
+
+            if (file == null || !file.isValid())
+                return;
+
+            if (!file.isDirectory()) {
+                addBaseNames(file.getName());
+                return;
+            }
+
+            // TIPS : excluded folders such as build outputs are not browsed
+            ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+            if (!fileIndex.isInContent(file))
+                return;
+
+            VfsUtilCore.iterateChildrenRecursively(file, f -> !fileIndex.isExcluded(f), f -> {
+                if (!f.isDirectory())
+                    addBaseNames(f.getName());
+                return true;
+            });
+        }
+
+        private void addBaseNames(String fileName) {
+            List<String> baseNames = getBaseNames(fileName);
+            if (!baseNames.isEmpty()) {
+                LOG.trace("Bundles " + baseNames + " changed");
+                changes.addAll(baseNames);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.PropertiesFileType;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * I18nKeyIndex
+ * Index of all i18n keys : key -> offset of the property into each properties file.
+ * Bundle base name and locale are deduced from the indexed file itself.
+ */
+public class I18nKeyIndex extends FileBasedIndexExtension<String, Integer> {
+
+    public static final ID<String, Integer> NAME = ID.create("io.nimbly.i18n.I18nKeyIndex");
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return inputData -> {
+
+            PsiFile file = inputData.getPsiFile();
+            if (!(file instanceof PropertiesFile))
+                return Collections.emptyMap();
+
+            Map<String, Integer> map = new HashMap<>();
+            for (IProperty p : ((PropertiesFile) file).getProperties()) {
+
+                String key = p.getUnescapedKey();
+                if (key == null)
+                    continue;
+
+                map.putIfAbsent(key, p.getPsiElement().getTextOffset());
+            }
+            return map;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(PropertiesFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Is index available
+     * Index cannot be queried while indexing is in progress
+     *
+     * @param project the project
+     * @return true if index can be queried
+     */
+    public static boolean isAvailable(@NotNull Project project) {
+        return !DumbService.isDumb(project);
+    }
+
+    /**
+     * Gets files containing the key
+     *
+     * @param key   the key
+     * @param scope the scope
+     * @return the files
+     */
+    @NotNull
+    public static Collection<VirtualFile> getFiles(@NotNull String key, @NotNull GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, key, scope);
+    }
+
+    /**
+     * Gets offset of the key into the file
+     *
+     * @param key     the key
+     * @param file    the file
+     * @param project the project
+     * @return the offset or null if key is not defined into the file
+     */
+    @Nullable
+    public static Integer getOffset(@NotNull String key, @NotNull VirtualFile file, @NotNull Project project) {
+        List<Integer> values = FileBasedIndex.getInstance().getValues(NAME, key, GlobalSearchScope.fileScope(project, file));
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
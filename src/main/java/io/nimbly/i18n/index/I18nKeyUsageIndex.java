@@ -0,0 +1,219 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.lang.java.lexer.JavaLexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.pom.java.LanguageLevel;
+import com.intellij.psi.JavaTokenType;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * I18nKeyUsageIndex
+ * Index of java string literals which may be i18n keys : literal value -> offsets of its occurrences into each java file.
+ * Files are lexed only, no psi is built. Linking a literal to a bundle key is done when querying,
+ * against {@link I18nKeyIndex}, since indexing cannot resolve references.
+ */
+public class I18nKeyUsageIndex extends FileBasedIndexExtension<String, List<Integer>> {
+
+    public static final ID<String, List<Integer>> NAME = ID.create("io.nimbly.i18n.I18nKeyUsageIndex");
+
+    private static final int MAX_LENGTH = 255;
+
+    @NotNull
+    @Override
+    public ID<String, List<Integer>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+        return inputData -> {
+
+            // TIPS : no need to lex file when it has no string literal
+            CharSequence text = inputData.getContentAsText();
+            if (StringUtil.indexOf(text, '"') < 0)
+                return Collections.emptyMap();
+
+            Map<String, List<Integer>> map = new HashMap<>();
+            JavaLexer lexer = new JavaLexer(LanguageLevel.HIGHEST);
+            lexer.start(text);
+            for (; lexer.getTokenType() != null; lexer.advance()) {
+
+                if (lexer.getTokenType() != JavaTokenType.STRING_LITERAL)
+                    continue;
+
+                String value = getLiteralValue(text.subSequence(lexer.getTokenStart(), lexer.getTokenEnd()).toString());
+                if (value != null && isKeyLike(value))
+                    map.computeIfAbsent(value, v -> new ArrayList<>()).add(lexer.getTokenStart());
+            }
+            return map;
+        };
+    }
+
+    /**
+     * Gets value of a string literal token, i.e. <code>"my.key"</code> is <code>my.key</code>
+     *
+     * @param token the token text, quotes included
+     * @return the value or null if literal is not terminated
+     */
+    @Nullable
+    static String getLiteralValue(@NotNull String token) {
+
+        if (token.length() < 2 || !token.endsWith("\""))
+            return null;
+
+        String value = token.substring(1, token.length() - 1);
+        return value.indexOf('\\') < 0 ? value : StringUtil.unescapeStringCharacters(value);
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<Integer>> getValueExternalizer() {
+        return new OffsetsExternalizer();
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Is literal a possible i18n key : not empty, not too long and no white space
+     *
+     * @param value the literal value
+     * @return true if literal may be a key
+     */
+    public static boolean isKeyLike(@NotNull String value) {
+
+        if (value.isEmpty() || value.length() > MAX_LENGTH)
+            return false;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c) || Character.isISOControl(c))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Is key used by a java literal : the key itself, or one of its prefixes ending
+     * with a dot, as in <code>"error." + code</code>
+     *
+     * @param key   the key
+     * @param scope the scope
+     * @return true if key is used
+     */
+    public static boolean isUsed(@NotNull String key, @NotNull GlobalSearchScope scope) {
+
+        if (!getFiles(key, scope).isEmpty())
+            return true;
+
+        for (int i = key.indexOf('.'); i > 0 && i < key.length() - 1; i = key.indexOf('.', i + 1)) {
+            if (!getFiles(key.substring(0, i + 1), scope).isEmpty())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets java files using the literal
+     *
+     * @param literal the literal value
+     * @param scope   the scope
+     * @return the files
+     */
+    @NotNull
+    public static Collection<VirtualFile> getFiles(@NotNull String literal, @NotNull GlobalSearchScope scope) {
+        return FileBasedIndex.getInstance().getContainingFiles(NAME, literal, scope);
+    }
+
+    /**
+     * Gets offsets of every occurrence of the literal into the file
+     *
+     * @param literal the literal value
+     * @param file    the file
+     * @param project the project
+     * @return the offsets, empty if literal is not used into the file
+     */
+    @NotNull
+    public static List<Integer> getOffsets(@NotNull String literal, @NotNull VirtualFile file, @NotNull Project project) {
+        List<List<Integer>> values = FileBasedIndex.getInstance().getValues(NAME, literal, GlobalSearchScope.fileScope(project, file));
+        return values.isEmpty() ? Collections.emptyList() : values.get(0);
+    }
+
+    /*******************************************
+     *  OffsetsExternalizer
+     */
+    private static class OffsetsExternalizer implements DataExternalizer<List<Integer>> {
+
+        @Override
+        public void save(@NotNull DataOutput out, List<Integer> offsets) throws IOException {
+            // TIPS : offsets are ascending, deltas are smaller to store
+            DataInputOutputUtil.writeINT(out, offsets.size());
+            int previous = 0;
+            for (int offset : offsets) {
+                DataInputOutputUtil.writeINT(out, offset - previous);
+                previous = offset;
+            }
+        }
+
+        @Override
+        public List<Integer> read(@NotNull DataInput in) throws IOException {
+            int size = DataInputOutputUtil.readINT(in);
+            List<Integer> offsets = new ArrayList<>(size);
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                previous += DataInputOutputUtil.readINT(in);
+                offsets.add(previous);
+            }
+            return offsets;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.lang.properties.psi.Property;
+import com.intellij.lang.properties.references.PropertyReference;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import io.nimbly.i18n.util.I18nMetrics;
+import io.nimbly.i18n.util.SPsiUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * I18nKeyUsageSearch
+ * Find unused and undefined i18n keys of a whole project, by querying {@link I18nKeyIndex}
+ * and {@link I18nKeyUsageIndex}. Psi is loaded only for the files of the keys found.
+ * Must be called into a read action, in smart mode.
+ */
+public final class I18nKeyUsageSearch {
+
+    /** Dotted literals only are candidates to be undefined keys, i.e. 'order.form.title' */
+    private static final Pattern DOTTED_KEY = Pattern.compile("[A-Za-z_][\\w\\-]*(\\.[\\w\\-]+)+");
+
+    /** Methods whose first argument is a key, even without @PropertyKey annotation */
+    private static final Set<String> KEY_METHODS = new HashSet<>(Arrays.asList("getString", "getObject", "getStringArray", "getMessage"));
+
+    private I18nKeyUsageSearch() {
+    }
+
+    /**
+     * Find keys defined into project resource bundles and used by no java literal.
+     * Properties files without any locale sibling, i.e. application configuration, are not i18n bundles and are ignored
+     *
+     * @param project the project
+     * @return the properties, sorted by key
+     */
+    @NotNull
+    public static List<Property> findUnusedKeys(@NotNull Project project) {
+
+        long start = I18nMetrics.start();
+        try {
+            GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+            PsiManager psiManager = PsiManager.getInstance(project);
+
+            Map<VirtualFile, Boolean> bundles = new HashMap<>();
+            List<Property> result = new ArrayList<>();
+            for (String key : new TreeSet<>(FileBasedIndex.getInstance().getAllKeys(I18nKeyIndex.NAME, project))) {
+
+                ProgressManager.checkCanceled();
+                if (I18nKeyUsageIndex.isUsed(key, scope))
+                    continue;
+
+                List<VirtualFile> files = new ArrayList<>(I18nKeyIndex.getFiles(key, scope));
+                files.removeIf(vf -> !bundles.computeIfAbsent(vf, f -> isLocalizedBundle(psiManager, f)));
+
+                for (VirtualFile vf : files) {
+                    Integer offset = I18nKeyIndex.getOffset(key, vf, project);
+                    PsiElement element = findElementAt(psiManager, vf, offset);
+                    Property property = element != null ? SPsiUtils.findSurrounding(element, Property.class) : null;
+                    if (property != null)
+                        result.add(property);
+                }
+            }
+            return result;
+        } finally {
+            I18nMetrics.stop("findUnusedKeys", start);
+        }
+    }
+
+    /**
+     * Find java literals used as key, but not defined into any properties file.
+     * A literal is a key when the properties plugin requires it (@PropertyKey annotation),
+     * or when it is the first argument of a resource bundle method such as <code>getString</code>
+     *
+     * @param project the project
+     * @return the literals, sorted by key
+     */
+    @NotNull
+    public static List<PsiLiteralExpression> findUndefinedKeys(@NotNull Project project) {
+
+        long start = I18nMetrics.start();
+        try {
+            GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+            GlobalSearchScope allScope = GlobalSearchScope.allScope(project);
+            PsiManager psiManager = PsiManager.getInstance(project);
+
+            SortedSet<String> candidates = new TreeSet<>();
+            FileBasedIndex.getInstance().processAllKeys(I18nKeyUsageIndex.NAME, literal -> {
+                if (DOTTED_KEY.matcher(literal).matches())
+                    candidates.add(literal);
+                return true;
+            }, scope, null);
+
+            List<PsiLiteralExpression> result = new ArrayList<>();
+            for (String key : candidates) {
+
+                ProgressManager.checkCanceled();
+                if (!I18nKeyIndex.getFiles(key, allScope).isEmpty())
+                    continue;
+
+                for (VirtualFile vf : I18nKeyUsageIndex.getFiles(key, scope)) {
+                    for (Integer offset : I18nKeyUsageIndex.getOffsets(key, vf, project)) {
+                        PsiElement element = findElementAt(psiManager, vf, offset);
+                        PsiLiteralExpression literal = PsiTreeUtil.getParentOfType(element, PsiLiteralExpression.class, false);
+
+                        // TIPS : psi may be more recent than index, literal value is checked again
+                        if (literal != null && key.equals(literal.getValue()) && isKey(literal))
+                            result.add(literal);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            I18nMetrics.stop("findUndefinedKeys", start);
+        }
+    }
+
+    private static boolean isLocalizedBundle(PsiManager psiManager, VirtualFile vf) {
+        if (!vf.isValid())
+            return false;
+        PsiFile file = psiManager.findFile(vf);
+        return file instanceof PropertiesFile && ((PropertiesFile) file).getResourceBundle().getPropertiesFiles().size() > 1;
+    }
+
+    private static boolean isKey(PsiLiteralExpression literal) {
+
+        for (PsiReference ref : literal.getReferences()) {
+            if (ref instanceof PropertyReference && !ref.isSoft())
+                return true;
+        }
+
+        PsiElement parent = literal.getParent();
+        if (!(parent instanceof PsiExpressionList) || ((PsiExpressionList) parent).getExpressions()[0] != literal)
+            return false;
+
+        PsiElement call = parent.getParent();
+        return call instanceof PsiMethodCallExpression
+                && KEY_METHODS.contains(((PsiMethodCallExpression) call).getMethodExpression().getReferenceName());
+    }
+
+    @Nullable
+    private static PsiElement findElementAt(PsiManager psiManager, VirtualFile vf, @Nullable Integer offset) {
+        if (offset == null || !vf.isValid())
+            return null;
+        PsiFile file = psiManager.findFile(vf);
+        return file != null ? file.findElementAt(offset) : null;
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFile;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * I18nKeyWatcher
+ * Single document listener notifying watchers only when lines of their key are changed.
+ * Watchers give a key and the properties files to watch : files are matched by virtual file,
+ * no document is retained. Watches are dropped with their parent disposable.
+ */
+public class I18nKeyWatcher implements Disposable {
+
+    private static final Logger LOG = LoggerFactory.getInstance(I18nKeyWatcher.class);
+
+    // TIPS : key lines can only be found by text search if the key does not need escaping
+    private static final String ESCAPED_CHARS = " \t\f=:#!\\";
+
+    private final Map<Disposable, Watch> watches = new HashMap<>();
+    private final List<Watch> touched = new ArrayList<>();
+    private final List<Watch> candidates = new ArrayList<>();
+
+    public static I18nKeyWatcher getInstance(@NotNull Project project) {
+        return project.getService(I18nKeyWatcher.class);
+    }
+
+    public I18nKeyWatcher() {
+        EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new MyDocumentListener(), this);
+    }
+
+    /**
+     * Watch key, replacing previous watch of the parent
+     *
+     * @param parent   the parent disposable, watch is dropped once disposed
+     * @param key      the key
+     * @param files    the properties files to watch
+     * @param onChange called with the document when a line of the key is changed
+     */
+    public void watch(@NotNull Disposable parent, @NotNull String key, @NotNull Collection<VirtualFile> files, @NotNull Consumer<Document> onChange) {
+        if (watches.put(parent, new Watch(key, files, onChange)) == null)
+            Disposer.register(parent, () -> unwatch(parent));
+    }
+
+    /**
+     * Stop watching
+     *
+     * @param parent the parent disposable
+     */
+    public void unwatch(@NotNull Disposable parent) {
+        watches.remove(parent);
+    }
+
+    @Override
+    public void dispose() {
+        watches.clear();
+        touched.clear();
+        candidates.clear();
+    }
+
+    /**
+     * Is a line of the key between start and end offsets
+     */
+    static boolean touchesKey(@NotNull Document document, @NotNull String key, int start, int end) {
+
+        if (!isSearchable(key))
+            return true;
+
+        CharSequence text = document.getCharsSequence();
+        if (text.length() == 0)
+            return false;
+
+        int line = document.getLineNumber(Math.min(start, text.length()));
+        int endLine = document.getLineNumber(Math.min(end, text.length()));
+
+        // continuation lines belong to the property started above
+        while (line > 0 && isContinued(text, document.getLineEndOffset(line - 1)))
+            line--;
+
+        for (int l = line; l <= endLine; l++) {
+            if (startsWithKey(text, document.getLineStartOffset(l), document.getLineEndOffset(l), key))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean isSearchable(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c > 0x7E || c < 0x20 || ESCAPED_CHARS.indexOf(c) >= 0)
+                return false;
+        }
+        return !key.isEmpty();
+    }
+
+    private static boolean isContinued(CharSequence text, int lineEnd) {
+        int backslashes = 0;
+        for (int i = lineEnd - 1; i >= 0 && text.charAt(i) == '\\'; i--)
+            backslashes++;
+        return backslashes % 2 == 1;
+    }
+
+    private static boolean startsWithKey(CharSequence text, int start, int end, String key) {
+
+        int i = start;
+        while (i < end && (text.charAt(i) == ' ' || text.charAt(i) == '\t' || text.charAt(i) == '\f'))
+            i++;
+
+        if (end - i < key.length())
+            return false;
+
+        for (int k = 0; k < key.length(); k++) {
+            if (text.charAt(i + k) != key.charAt(k))
+                return false;
+        }
+
+        i += key.length();
+        if (i == end)
+            return true;
+
+        char c = text.charAt(i);
+        return c == '=' || c == ':' || c == ' ' || c == '\t' || c == '\f' || c == '\r';
+    }
+
+    /*******************************************
+     *  Watch
+     */
+    private static class Watch {
+
+        private final String key;
+        private final Set<VirtualFile> files;
+        private final Consumer<Document> onChange;
+
+        Watch(String key, Collection<VirtualFile> files, Consumer<Document> onChange) {
+            this.key = key;
+            this.files = new HashSet<>(files);
+            this.onChange = onChange;
+        }
+    }
+
+    /*******************************************
+     *  MyDocumentListener
+     */
+    private class MyDocumentListener implements DocumentListener {
+
+        @Override
+        public void beforeDocumentChange(@NotNull DocumentEvent e) {
+
+            touched.clear();
+            candidates.clear();
+            if (watches.isEmpty())
+                return;
+
+            VirtualFile file = FileDocumentManager.getInstance().getFile(e.getDocument());
+            if (file == null)
+                return;
+
+            for (Watch watch : watches.values()) {
+                if (!watch.files.contains(file))
+                    continue;
+
+                // old text : key line modified or removed
+                if (touchesKey(e.getDocument(), watch.key, e.getOffset(), e.getOffset() + e.getOldLength()))
+                    touched.add(watch);
+                else
+                    candidates.add(watch);
+            }
+        }
+
+        @Override
+        public void documentChanged(@NotNull DocumentEvent e) {
+
+            if (touched.isEmpty() && candidates.isEmpty())
+                return;
+
+            // new text : key line modified or inserted
+            List<Watch> notify = new ArrayList<>(touched);
+            for (Watch watch : candidates) {
+                if (touchesKey(e.getDocument(), watch.key, e.getOffset(), e.getOffset() + e.getNewLength()))
+                    notify.add(watch);
+            }
+            touched.clear();
+            candidates.clear();
+
+            for (Watch watch : notify) {
+                LOG.trace("Key '" + watch.key + "' changed");
+                watch.onChange.accept(e.getDocument());
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.report;
+
+import io.nimbly.i18n.util.I18nLocale;
+import io.nimbly.i18n.util.PropertiesStreamParser;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * I18nCoverageReport
+ * Headless translation coverage report, no IDE required.
+ * All bundles found under the given folders are checked in parallel, for each locale the report lists
+ * keys missing, empty or untranslated (same value as source language).
+ *
+ * <pre>
+ *   java io.nimbly.i18n.report.I18nCoverageReport [--source en] [--utf8] [--fail-on-missing] folder...
+ * </pre>
+ */
+public class I18nCoverageReport {
+
+    private static final Set<String> OUTPUT_FOLDERS = new HashSet<>(Arrays.asList("target", "build", "out"));
+
+    private final String sourceLanguage;
+    private final Charset charset;
+
+    public I18nCoverageReport(String sourceLanguage) {
+        this(sourceLanguage, StandardCharsets.ISO_8859_1);
+    }
+
+    public I18nCoverageReport(String sourceLanguage, Charset charset) {
+        this.sourceLanguage = sourceLanguage;
+        this.charset = charset;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        String source = "en";
+        boolean failOnMissing = false;
+        Charset charset = StandardCharsets.ISO_8859_1;
+        List<Path> roots = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--source".equals(args[i]) && i + 1 < args.length)
+                source = args[++i];
+            else if ("--utf8".equals(args[i]))
+                charset = StandardCharsets.UTF_8;
+            else if ("--fail-on-missing".equals(args[i]))
+                failOnMissing = true;
+            else
+                roots.add(Paths.get(args[i]));
+        }
+
+        if (roots.isEmpty()) {
+            System.err.println("Usage : I18nCoverageReport [--source en] [--utf8] [--fail-on-missing] folder...");
+            System.exit(2);
+        }
+
+        long start = System.currentTimeMillis();
+        List<BundleCoverage> coverages = new I18nCoverageReport(source, charset).run(roots);
+        print(coverages, System.out);
+        System.out.println("Done in " + (System.currentTimeMillis() - start) + " ms");
+
+        if (failOnMissing && coverages.stream().anyMatch(BundleCoverage::hasMissing))
+            System.exit(1);
+    }
+
+    /**
+     * Run report
+     *
+     * @param roots the folders to scan
+     * @return the coverage of each bundle, sorted by bundle
+     * @throws IOException the io exception
+     */
+    public List<BundleCoverage> run(List<Path> roots) throws IOException {
+
+        Map<String, Map<String, Path>> bundles = new TreeMap<>();
+        for (Path root : roots) {
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(p -> p.getFileName().toString().endsWith(".properties"))
+                     .filter(p -> !isBuildOutput(root.relativize(p)))
+                     .forEach(p -> {
+                         I18nLocale locale = I18nLocale.parse(p.getFileName().toString());
+                         String baseName = locale != null ? locale.getBaseName() : p.getFileName().toString().replace(".properties", "");
+                         String bundle = p.getParent().resolve(baseName).toString();
+                         bundles.computeIfAbsent(bundle, b -> new TreeMap<>())
+                                .put(locale != null ? locale.getTag() : "", p);
+                     });
+            }
+        }
+
+        return bundles.entrySet().parallelStream()
+                .filter(e -> e.getValue().size() > 1)
+                .map(e -> check(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparing(BundleCoverage::getBundle))
+                .collect(Collectors.toList());
+    }
+
+    private BundleCoverage check(String bundle, Map<String, Path> files) {
+
+        // source : source language, else default file
+        Path sourceFile = files.containsKey(sourceLanguage) ? files.get(sourceLanguage) : files.get("");
+        BundleCoverage coverage = new BundleCoverage(bundle);
+        if (sourceFile == null)
+            return coverage;
+
+        Map<String, String> source = load(sourceFile);
+        for (Map.Entry<String, Path> e : files.entrySet()) {
+
+            if (e.getValue().equals(sourceFile) || e.getKey().isEmpty())
+                continue;
+
+            Map<String, String> target = load(e.getValue());
+            LocaleCoverage lc = new LocaleCoverage(e.getKey(), source.size());
+            for (Map.Entry<String, String> s : source.entrySet()) {
+
+                String value = target.get(s.getKey());
+                if (value == null)
+                    lc.missing.add(s.getKey());
+                else if (value.trim().isEmpty())
+                    lc.empty.add(s.getKey());
+                else if (value.equals(s.getValue()))
+                    lc.untranslated.add(s.getKey());
+            }
+            coverage.locales.add(lc);
+        }
+        return coverage;
+    }
+
+    protected Map<String, String> load(Path file) {
+        // TIPS : last occurrence wins, as with java.util.Properties
+        Map<String, String> map = new TreeMap<>();
+        try {
+            PropertiesStreamParser.parse(file, charset, (key, value, offset) -> map.put(key, value));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read " + file, e);
+        }
+        return map;
+    }
+
+    /**
+     * Is file into a build output folder, path being relative to the scanned folder.
+     * Folders under a 'src' folder are packages, i.e. a resources package named 'out', and are not checked
+     */
+    static boolean isBuildOutput(Path relativePath) {
+        Path parent = relativePath.getParent();
+        if (parent == null)
+            return false;
+
+        for (Path segment : parent) {
+            String name = segment.toString();
+            if (name.equals("src"))
+                return false;
+            if (OUTPUT_FOLDERS.contains(name))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Print report
+     */
+    public static void print(List<BundleCoverage> coverages, PrintStream out) {
+        for (BundleCoverage bc : coverages) {
+            out.println(bc.getBundle());
+            for (LocaleCoverage lc : bc.getLocales()) {
+                out.println(String.format("  %-10s %6d keys   %6d missing   %6d empty   %6d untranslated",
+                        lc.getLanguage(), lc.getKeys(), lc.getMissing().size(), lc.getEmpty().size(), lc.getUntranslated().size()));
+                print("missing", lc.getMissing(), out);
+                print("empty", lc.getEmpty(), out);
+                print("untranslated", lc.getUntranslated(), out);
+            }
+        }
+    }
+
+    private static void print(String label, List<String> keys, PrintStream out) {
+        for (String key : keys) {
+            out.println("      " + label + " : " + key);
+        }
+    }
+
+    /*******************************************
+     *  BundleCoverage
+     */
+    public static class BundleCoverage {
+
+        private final String bundle;
+        private final List<LocaleCoverage> locales = new ArrayList<>();
+
+        BundleCoverage(String bundle) {
+            this.bundle = bundle;
+        }
+
+        public String getBundle() {
+            return bundle;
+        }
+
+        public List<LocaleCoverage> getLocales() {
+            return locales;
+        }
+
+        public boolean hasMissing() {
+            return locales.stream().anyMatch(l -> !l.missing.isEmpty());
+        }
+    }
+
+    /*******************************************
+     *  LocaleCoverage
+     */
+    public static class LocaleCoverage {
+
+        private final String language;
+        private final int keys;
+        private final List<String> missing = new ArrayList<>();
+        private final List<String> empty = new ArrayList<>();
+        private final List<String> untranslated = new ArrayList<>();
+
+        LocaleCoverage(String language, int keys) {
+            this.language = language;
+            this.keys = keys;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public int getKeys() {
+            return keys;
+        }
+
+        public List<String> getMissing() {
+            return missing;
+        }
+
+        public List<String> getEmpty() {
+            return empty;
+        }
+
+        public List<String> getUntranslated() {
+            return untranslated;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import io.nimbly.i18n.util.I18nUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * BatchTranslator
+ * Translate many keys into many languages, through the project translation scheduler. Identical source texts
+ * are sent once, and all texts of a target language are sent together to the backend.
+ */
+public class BatchTranslator {
+
+    private final TranslationScheduler scheduler;
+    private final TranslationBackend backend;
+
+    public BatchTranslator(@NotNull Project project) {
+        this(TranslationScheduler.getInstance(project), I18nUtil.getTranslationBackend());
+    }
+
+    public BatchTranslator(@NotNull TranslationScheduler scheduler, @NotNull TranslationBackend backend) {
+        this.scheduler = scheduler;
+        this.backend = backend;
+    }
+
+    /**
+     * Translate keys
+     *
+     * @param sourceLanguage  the source language
+     * @param sources         the source translations, by key
+     * @param targetLanguages the target languages
+     * @param indicator       the progress indicator, if any
+     * @return the translations by target language then by key. Keys without translation are missing
+     * @throws IOException the io exception
+     */
+    @NotNull
+    public Map<String, Map<String, String>> translate(@NotNull String sourceLanguage,
+                                                      @NotNull Map<String, String> sources,
+                                                      @NotNull Collection<String> targetLanguages,
+                                                      @Nullable ProgressIndicator indicator) throws IOException {
+
+        // TIPS : every target language is submitted first, so they are translated concurrently
+        Map<String, CompletableFuture<Map<String, String>>> futures = new LinkedHashMap<>();
+        for (String targetLanguage : targetLanguages) {
+            if (!targetLanguage.equals(sourceLanguage))
+                futures.put(targetLanguage, translateAsync(sourceLanguage, sources, targetLanguage));
+        }
+
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        int done = 0;
+        for (Map.Entry<String, CompletableFuture<Map<String, String>>> e : futures.entrySet()) {
+
+            if (indicator != null) {
+                indicator.checkCanceled();
+                indicator.setText2(e.getKey());
+                indicator.setFraction((double) done++ / futures.size());
+            }
+
+            result.put(e.getKey(), TranslationScheduler.await(e.getValue()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Translate keys into a language, without waiting for the result
+     *
+     * @param sourceLanguage the source language
+     * @param sources        the source translations, by key
+     * @param targetLanguage the target language
+     * @return the tuned translations by key. Keys without translation are missing
+     */
+    @NotNull
+    public CompletableFuture<Map<String, String>> translateAsync(@NotNull String sourceLanguage,
+                                                                 @NotNull Map<String, String> sources,
+                                                                 @NotNull String targetLanguage) {
+
+        List<String> texts = new ArrayList<>(new LinkedHashSet<>(sources.values()));
+        return scheduler.translate(backend, sourceLanguage, targetLanguage, texts).thenCompose(found -> {
+
+            Map<String, String> byText = zip(texts, found);
+
+            // Tips : if translation is the same as source, try using the key directly...
+            Map<String, String> retries = new LinkedHashMap<>();
+            for (Map.Entry<String, String> e : sources.entrySet()) {
+
+                String source = e.getValue();
+                if (!source.equals(byText.get(source)))
+                    continue;
+
+                String keyForTranslation = I18nUtil.prepareKeyForGoogleTranslation(e.getKey());
+                if (!source.equals(keyForTranslation))
+                    retries.put(e.getKey(), keyForTranslation);
+            }
+
+            if (retries.isEmpty())
+                return CompletableFuture.completedFuture(tune(sources, byText, retries, Collections.emptyMap()));
+
+            List<String> keyTexts = new ArrayList<>(new LinkedHashSet<>(retries.values()));
+            return scheduler.translate(backend, Locale.ENGLISH.getLanguage(), targetLanguage, keyTexts)
+                    .thenApply(keyFound -> tune(sources, byText, retries, zip(keyTexts, keyFound)));
+        });
+    }
+
+    private static Map<String, String> tune(Map<String, String> sources, Map<String, String> byText,
+                                            Map<String, String> retries, Map<String, String> byKeyText) {
+
+        Map<String, String> translations = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : sources.entrySet()) {
+
+            String source = e.getValue();
+            String translation = retries.containsKey(e.getKey())
+                    ? byKeyText.get(retries.get(e.getKey()))
+                    : byText.get(source);
+
+            translation = I18nUtil.tuneTranslation(source, translation);
+            if (translation != null)
+                translations.put(e.getKey(), translation);
+        }
+
+        return translations;
+    }
+
+    private static Map<String, String> zip(List<String> texts, List<String> translations) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < texts.size() && i < translations.size(); i++) {
+            map.put(texts.get(i), translations.get(i));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * CachingTranslationBackend
+ * Consult the translation memory before calling the delegate backend
+ */
+public class CachingTranslationBackend implements TranslationBackend {
+
+    private final TranslationBackend delegate;
+    private final TranslationMemory memory;
+
+    public CachingTranslationBackend(@NotNull TranslationBackend delegate, @NotNull TranslationMemory memory) {
+        this.delegate = delegate;
+        this.memory = memory;
+    }
+
+    @NotNull
+    @Override
+    public List<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) throws IOException {
+
+        String[] translations = new String[texts.size()];
+        Set<String> missing = new LinkedHashSet<>();
+        for (int i = 0; i < texts.size(); i++) {
+            translations[i] = memory.get(sourceLanguage, targetLanguage, texts.get(i));
+            if (translations[i] == null)
+                missing.add(texts.get(i));
+        }
+
+        if (missing.isEmpty())
+            return Arrays.asList(translations);
+
+        List<String> missingTexts = new ArrayList<>(missing);
+        List<String> found = delegate.translate(sourceLanguage, targetLanguage, missingTexts);
+
+        Map<String, String> byText = new HashMap<>();
+        for (int i = 0; i < missingTexts.size() && i < found.size(); i++) {
+            String translation = found.get(i);
+            if (translation == null)
+                continue;
+            byText.put(missingTexts.get(i), translation);
+            memory.put(sourceLanguage, targetLanguage, missingTexts.get(i), translation);
+        }
+        if (!byText.isEmpty())
+            memory.scheduleSave();
+
+        for (int i = 0; i < texts.size(); i++) {
+            if (translations[i] == null)
+                translations[i] = byText.get(texts.get(i));
+        }
+        return Arrays.asList(translations);
+    }
+
+    public TranslationMemory getMemory() {
+        return memory;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.extensions.ExtensionPointName;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ChainTranslationBackend
+ * Consult backends one after the other, local ones first, each one for the texts still not translated.
+ * Remote backends are consulted through the translation memory, and rate limited when called.
+ */
+public class ChainTranslationBackend implements TranslationBackend {
+
+    private static final Logger LOG = LoggerFactory.getInstance(ChainTranslationBackend.class);
+
+    public static final ExtensionPointName<TranslationBackend> EP_NAME = ExtensionPointName.create("io.nimbly.i18n.translationProvider");
+
+    private final Supplier<List<TranslationBackend>> backends;
+
+    public ChainTranslationBackend(@NotNull List<TranslationBackend> backends) {
+        this(() -> backends);
+    }
+
+    private ChainTranslationBackend(@NotNull Supplier<List<TranslationBackend>> backends) {
+        this.backends = backends;
+    }
+
+    /**
+     * Chain of backends registered as extensions
+     *
+     * @param memory the translation memory of remote backends
+     * @return the chain, following plugins loaded or unloaded
+     */
+    @NotNull
+    public static ChainTranslationBackend fromExtensions(@NotNull TranslationMemory memory) {
+        return new ChainTranslationBackend(() -> {
+            List<TranslationBackend> list = new ArrayList<>();
+            for (TranslationBackend backend : EP_NAME.getExtensionList())
+                list.add(backend.isLocal() ? backend : new CachingTranslationBackend(new RateLimitedTranslationBackend(backend), memory));
+            return list;
+        });
+    }
+
+    @NotNull
+    @Override
+    public List<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) throws IOException {
+
+        List<TranslationBackend> ordered = new ArrayList<>();
+        List<TranslationBackend> remotes = new ArrayList<>();
+        for (TranslationBackend backend : backends.get())
+            (backend.isLocal() ? ordered : remotes).add(backend);
+        ordered.addAll(remotes);
+
+        String[] translations = new String[texts.size()];
+        int missing = texts.size();
+        boolean found = false;
+        for (TranslationBackend backend : ordered) {
+
+            List<Integer> indexes = new ArrayList<>(missing);
+            List<String> missingTexts = new ArrayList<>(missing);
+            for (int i = 0; i < texts.size(); i++) {
+                if (translations[i] == null) {
+                    indexes.add(i);
+                    missingTexts.add(texts.get(i));
+                }
+            }
+
+            List<String> result;
+            try {
+                result = backend.translate(sourceLanguage, targetLanguage, missingTexts);
+            } catch (IOException e) {
+                // TIPS : keep what was found by previous backends
+                if (!found)
+                    throw e;
+                LOG.warn("Translation backend failure, partial result kept", e);
+                break;
+            }
+
+            for (int i = 0; i < indexes.size() && i < result.size(); i++) {
+                if (result.get(i) == null)
+                    continue;
+                translations[indexes.get(i)] = result.get(i);
+                missing--;
+                found = true;
+            }
+
+            if (missing == 0)
+                break;
+        }
+
+        return Arrays.asList(translations);
+    }
+
+    @Override
+    public boolean isLocal() {
+        for (TranslationBackend backend : backends.get()) {
+            if (!backend.isLocal())
+                return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlossaryTranslationBackend
+ * Offline translations from an approved glossary : a TMX file, or a tab separated file
+ * whose first line gives the language of each column.
+ * <p>
+ * The glossary is read once into a flat table of segments, indexed by language and normalized text,
+ * then read again only when the file is modified. File is checked at most every 5 seconds.
+ * Default file is <code>i18n/glossary.tmx</code> into IDE config folder, system property
+ * <code>i18n.glossary</code> gives another one.
+ */
+public class GlossaryTranslationBackend implements TranslationBackend {
+
+    private static final Logger LOG = LoggerFactory.getInstance(GlossaryTranslationBackend.class);
+
+    public static final String GLOSSARY_PROPERTY = "i18n.glossary";
+    private static final char SEPARATOR = '\u0000';
+    private static final long CHECK_DELAY = TimeUnit.SECONDS.toNanos(5);
+
+    private final Path file;
+    private final long checkDelay;
+    private volatile Glossary glossary = Glossary.EMPTY;
+    private volatile boolean checked = false;
+    private volatile long lastCheck;
+
+    public GlossaryTranslationBackend() {
+        this(defaultFile());
+    }
+
+    public GlossaryTranslationBackend(@NotNull Path file) {
+        this(file, CHECK_DELAY);
+    }
+
+    GlossaryTranslationBackend(@NotNull Path file, long checkDelay) {
+        this.file = file;
+        this.checkDelay = checkDelay;
+    }
+
+    private static Path defaultFile() {
+        String path = System.getProperty(GLOSSARY_PROPERTY);
+        return path != null ? Paths.get(path) : Paths.get(PathManager.getConfigPath(), "i18n", "glossary.tmx");
+    }
+
+    @NotNull
+    @Override
+    public List<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) {
+
+        Glossary g = getGlossary();
+        String[] translations = new String[texts.size()];
+
+        int source = g.column(sourceLanguage);
+        int target = g.column(targetLanguage);
+        if (source < 0 || target < 0)
+            return Arrays.asList(translations);
+
+        for (int i = 0; i < texts.size(); i++) {
+            Integer unit = g.index.get(key(source, texts.get(i)));
+            if (unit != null)
+                translations[i] = g.segments[unit * g.languages.length + target];
+        }
+        return Arrays.asList(translations);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    /**
+     * Gets glossary, read again if file was modified
+     */
+    @NotNull
+    Glossary getGlossary() {
+
+        // TIPS : file system is not queried on each translation
+        long now = System.nanoTime();
+        if (checked && now - lastCheck < checkDelay)
+            return glossary;
+        lastCheck = now;
+        checked = true;
+
+        long stamp;
+        try {
+            stamp = Files.exists(file) ? Files.getLastModifiedTime(file).toMillis() ^ Files.size(file) : 0;
+        } catch (IOException e) {
+            stamp = 0;
+        }
+
+        Glossary g = glossary;
+        if (g.stamp == stamp)
+            return g;
+
+        synchronized (this) {
+            if (glossary.stamp != stamp) {
+                glossary = stamp == 0 ? Glossary.EMPTY : load(file, stamp);
+                LOG.info("Glossary '" + file + "' loaded : " + glossary.size() + " units");
+            }
+            return glossary;
+        }
+    }
+
+    private static Glossary load(Path file, long stamp) {
+
+        List<Map<String, String>> units;
+        try {
+            units = file.getFileName().toString().toLowerCase().endsWith(".tmx") ? readTmx(file) : readTsv(file);
+        } catch (IOException | XMLStreamException e) {
+            LOG.warn("Cannot read glossary '" + file + "'", e);
+            return new Glossary(new String[0], new String[0], Collections.emptyMap(), stamp);
+        }
+
+        // columns
+        LinkedHashSet<String> tags = new LinkedHashSet<>();
+        for (Map<String, String> unit : units)
+            tags.addAll(unit.keySet());
+        String[] languages = tags.toArray(new String[0]);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < languages.length; i++)
+            columns.put(languages[i], i);
+
+        // flat table of segments, one row per unit, and index of each segment
+        String[] segments = new String[units.size() * languages.length];
+        Map<String, Integer> index = new HashMap<>(units.size() * 2);
+        for (int u = 0; u < units.size(); u++) {
+            for (Map.Entry<String, String> e : units.get(u).entrySet()) {
+                int column = columns.get(e.getKey());
+                segments[u * languages.length + column] = e.getValue();
+                index.putIfAbsent(key(column, e.getValue()), u);
+            }
+        }
+
+        return new Glossary(languages, segments, index, stamp);
+    }
+
+    private static String key(int column, String text) {
+        return String.valueOf(column) + SEPARATOR + TranslationMemory.normalize(text);
+    }
+
+    private static List<Map<String, String>> readTmx(Path file) throws IOException, XMLStreamException {
+
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        List<Map<String, String>> units = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file)) {
+
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            Map<String, String> unit = null;
+            String lang = null;
+            StringBuilder seg = null;
+            int inline = 0;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+
+                    case XMLStreamReader.START_ELEMENT:
+                        String name = reader.getLocalName();
+                        if (seg != null)
+                            inline++; // TIPS : inline markup (bpt, ept, ph...) is not part of the text
+                        else if ("tu".equals(name))
+                            unit = new LinkedHashMap<>();
+                        else if ("tuv".equals(name)) {
+                            lang = reader.getAttributeValue(XMLConstants.XML_NS_URI, "lang");
+                            if (lang == null)
+                                lang = reader.getAttributeValue(null, "lang");
+                        }
+                        else if ("seg".equals(name) && unit != null && lang != null)
+                            seg = new StringBuilder();
+                        break;
+
+                    case XMLStreamReader.CHARACTERS:
+                    case XMLStreamReader.CDATA:
+                        if (seg != null && inline == 0)
+                            seg.append(reader.getText());
+                        break;
+
+                    case XMLStreamReader.END_ELEMENT:
+                        if (inline > 0)
+                            inline--;
+                        else if (seg != null) {
+                            unit.putIfAbsent(normalizeTag(lang), seg.toString());
+                            seg = null;
+                        }
+                        else if ("tu".equals(reader.getLocalName()) && unit != null) {
+                            if (unit.size() > 1)
+                                units.add(unit);
+                            unit = null;
+                        }
+                        break;
+                }
+            }
+            reader.close();
+        }
+        return units;
+    }
+
+    private static List<Map<String, String>> readTsv(Path file) throws IOException {
+
+        List<Map<String, String>> units = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+
+            String header = reader.readLine();
+            if (header == null)
+                return units;
+
+            String[] tags = header.split("\t", -1);
+            for (int i = 0; i < tags.length; i++)
+                tags[i] = normalizeTag(tags[i]);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split("\t", -1);
+                Map<String, String> unit = new LinkedHashMap<>();
+                for (int i = 0; i < values.length && i < tags.length; i++) {
+                    if (!values[i].isEmpty() && !tags[i].isEmpty())
+                        unit.putIfAbsent(tags[i], values[i]);
+                }
+                if (unit.size() > 1)
+                    units.add(unit);
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Normalize language tag : 'fr-FR' and 'fr_fr' are 'fr_fr'
+     */
+    @NotNull
+    static String normalizeTag(@Nullable String tag) {
+        return tag == null ? "" : tag.trim().replace('-', '_').toLowerCase(Locale.ROOT);
+    }
+
+    /*******************************************
+     *  Glossary
+     */
+    static class Glossary {
+
+        static final Glossary EMPTY = new Glossary(new String[0], new String[0], Collections.emptyMap(), 0);
+
+        private final String[] languages;
+        private final String[] segments;
+        private final Map<String, Integer> index;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final long stamp;
+
+        Glossary(String[] languages, String[] segments, Map<String, Integer> index, long stamp) {
+            this.languages = languages;
+            this.segments = segments;
+            this.index = index;
+            this.stamp = stamp;
+
+            for (int i = 0; i < languages.length; i++)
+                columns.putIfAbsent(languages[i], i);
+
+            // TIPS : 'fr' also finds 'fr_fr' when glossary has no plain 'fr'
+            for (int i = 0; i < languages.length; i++) {
+                int j = languages[i].indexOf('_');
+                if (j > 0)
+                    columns.putIfAbsent(languages[i].substring(0, j), i);
+            }
+        }
+
+        int column(String language) {
+            String tag = normalizeTag(language);
+            Integer column = columns.get(tag);
+            if (column == null && tag.indexOf('_') > 0)
+                column = columns.get(tag.substring(0, tag.indexOf('_')));
+            return column != null ? column : -1;
+        }
+
+        int size() {
+            return languages.length == 0 ? 0 : segments.length / languages.length;
+        }
+    }
+}
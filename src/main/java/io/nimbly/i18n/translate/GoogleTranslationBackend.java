@@ -0,0 +1,248 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.net.HttpConfigurable;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URLConnection;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GoogleTranslationBackend
+ * Several texts are sent into a single call, one text per line.
+ * Responses are stream parsed and fully consumed so that connections are kept alive and reused.
+ * Timeouts in ms are given by system properties <code>i18n.translate.connectTimeout</code>
+ * and <code>i18n.translate.readTimeout</code>.
+ */
+public class GoogleTranslationBackend implements TranslationBackend {
+
+    private static final Logger LOG = LoggerFactory.getInstance(GoogleTranslationBackend.class);
+
+    public static final String DEFAULT_URL = "https://translate.googleapis.com/translate_a/single";
+
+    private static final int MAX_QUERY_LENGTH = 4000;
+    private static final String SEPARATOR = "\n";
+
+    public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+    public static final int DEFAULT_READ_TIMEOUT = 10000;
+    public static final String CONNECT_TIMEOUT_PROPERTY = "i18n.translate.connectTimeout";
+    public static final String READ_TIMEOUT_PROPERTY = "i18n.translate.readTimeout";
+
+    private final String url;
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    public GoogleTranslationBackend() {
+        this(DEFAULT_URL);
+    }
+
+    /**
+     * GoogleTranslationBackend
+     * @param url the service url, i.e. a local stand-in server
+     */
+    public GoogleTranslationBackend(@NotNull String url) {
+        this(url, Integer.getInteger(CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT), Integer.getInteger(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT));
+    }
+
+    /**
+     * GoogleTranslationBackend
+     * @param url            the service url
+     * @param connectTimeout the connect timeout in ms
+     * @param readTimeout    the read timeout in ms
+     */
+    public GoogleTranslationBackend(@NotNull String url, int connectTimeout, int readTimeout) {
+        this.url = url;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @NotNull
+    @Override
+    public List<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) throws IOException {
+
+        List<String> translations = new ArrayList<>(texts.size());
+        int i = 0;
+        while (i < texts.size()) {
+
+            // build a chunk of texts fitting into one url
+            int j = i;
+            int length = 0;
+            while (j < texts.size()) {
+
+                String text = texts.get(j);
+                if (text.contains(SEPARATOR) || text.indexOf('\r') >= 0) {
+                    // TIPS : multi-lines text cannot be sent with others
+                    if (j == i)
+                        j++;
+                    break;
+                }
+
+                int l = URLEncoder.encode(text, StandardCharsets.UTF_8).length() + 3;
+                if (j > i && length + l > MAX_QUERY_LENGTH)
+                    break;
+
+                length += l;
+                j++;
+            }
+
+            translations.addAll(translateChunk(sourceLanguage, targetLanguage, texts.subList(i, j)));
+            i = j;
+        }
+
+        return translations;
+    }
+
+    private List<String> translateChunk(String sourceLanguage, String targetLanguage, List<String> texts) throws IOException {
+
+        if (texts.size() == 1)
+            return Collections.singletonList(callUrlAndParseResult(sourceLanguage, targetLanguage, texts.get(0)));
+
+        String translation = callUrlAndParseResult(sourceLanguage, targetLanguage, String.join(SEPARATOR, texts));
+        if (translation != null) {
+            String[] lines = translation.split(SEPARATOR, -1);
+            if (lines.length == texts.size()) {
+                List<String> list = new ArrayList<>(lines.length);
+                for (String line : lines) {
+                    list.add(line.isEmpty() ? null : line);
+                }
+                return list;
+            }
+        }
+
+        // TIPS : lines got merged or split by the service, translate one by one
+        LOG.debug("Batch translation mismatch, fallback to single translations");
+        List<String> list = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            list.add(callUrlAndParseResult(sourceLanguage, targetLanguage, text));
+        }
+        return list;
+    }
+
+    @Nullable
+    private String callUrlAndParseResult(String langFrom, String langTo, String word) throws IOException {
+
+        String url = this.url + "?" +
+                "client=gtx&" +
+                "sl=" + URLEncoder.encode(langFrom, "UTF-8") +
+                "&tl=" + URLEncoder.encode(langTo, "UTF-8") +
+                "&dt=t&q=" + URLEncoder.encode(word, "UTF-8");
+
+        URLConnection con = HttpConfigurable.getInstance().openConnection(url);
+        con.setConnectTimeout(connectTimeout);
+        con.setReadTimeout(readTimeout);
+        con.setRequestProperty("User-Agent", "Mozilla/5.0");
+        con.setRequestProperty("Connection", "keep-alive");
+
+        // TIPS : status is read first so that callers know whether the call is worth retrying
+        if (con instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) con;
+            int status = http.getResponseCode();
+            if (status >= HttpURLConnection.HTTP_BAD_REQUEST) {
+                // consume error body too, otherwise the connection is not reused
+                drain(http.getErrorStream());
+                throw new TranslationHttpException(status, http.getResponseMessage());
+            }
+        }
+
+        InputStream in = con.getInputStream();
+
+        try {
+            return parseResult(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } finally {
+            drain(in);
+        }
+    }
+
+    private static void drain(@Nullable InputStream in) {
+        if (in == null)
+            return;
+        try (InputStream stream = in) {
+            byte[] buffer = new byte[1024];
+            while (stream.read(buffer) != -1) {
+                // skip remaining bytes
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Parse google response
+     * Each sentence is a segment <code>[0][i][0]</code>, all are concatenated
+     *
+     * @param inputJson the response
+     * @return the translation
+     */
+    @Nullable
+    public static String parseResult(String inputJson) {
+        try {
+            return parseResult(new StringReader(inputJson));
+        } catch (IOException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stream parse google response, reading only the segments <code>[0][i][0]</code>.
+     * The rest of the response is not read.
+     *
+     * @param reader the response
+     * @return the translation
+     * @throws IOException the io exception
+     */
+    @Nullable
+    public static String parseResult(@NotNull Reader reader) throws IOException {
+
+        JsonReader json = new JsonReader(reader);
+        json.setLenient(true);
+
+        if (json.peek() != JsonToken.BEGIN_ARRAY)
+            return null;
+        json.beginArray();
+
+        if (!json.hasNext() || json.peek() != JsonToken.BEGIN_ARRAY)
+            return null;
+        json.beginArray();
+
+        StringBuilder sb = new StringBuilder();
+        while (json.hasNext()) {
+
+            if (json.peek() != JsonToken.BEGIN_ARRAY) {
+                json.skipValue();
+                continue;
+            }
+
+            json.beginArray();
+            if (json.hasNext() && json.peek() == JsonToken.STRING)
+                sb.append(json.nextString());
+            while (json.hasNext())
+                json.skipValue();
+            json.endArray();
+        }
+
+        return sb.length() > 0 ? sb.toString() : null;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import io.nimbly.i18n.util.I18nBulkOperation;
+import io.nimbly.i18n.util.I18nUtil;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MissingTranslator
+ * Translate every key missing, or empty, into some language of a resource bundle.
+ * Source of a translation is the prefered language when translated, else the first language translated,
+ * else the key itself.
+ *
+ * <pre>
+ *   List&lt;Entry&gt; entries = ReadAction.compute(() -> MissingTranslator.scan(bundle));
+ *   new MissingTranslator(project).translate(entries, indicator);
+ *   MissingTranslator.toBulkOperation(entries).apply(bundle, project);
+ * </pre>
+ */
+public class MissingTranslator {
+
+    private static final Logger LOG = LoggerFactory.getInstance(MissingTranslator.class);
+
+    /** Keys sent together to the backend */
+    static final int BATCH_SIZE = 100;
+
+    /** Batches submitted and not yet awaited */
+    private static final int WINDOW = TranslationScheduler.MAX_WORKERS * 2;
+
+    private final Project project;
+
+    public MissingTranslator(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Find keys missing, or empty, into some language of the bundle.
+     * Must be called into a read action
+     *
+     * @param bundle the bundle
+     * @return the missing translations, sorted by key then language
+     */
+    @NotNull
+    public static List<Entry> scan(@NotNull ResourceBundle bundle) {
+
+        // translations by language, then by key
+        SortedSet<String> keys = new TreeSet<>();
+        Map<String, Map<String, String>> translations = new LinkedHashMap<>();
+        for (PropertiesFile pf : bundle.getPropertiesFiles()) {
+
+            // TIPS : default file has no language, its keys are still expected into every language
+            String language = I18nUtil.getLanguage(pf);
+            Map<String, String> values = language != null ? translations.computeIfAbsent(language, l -> new HashMap<>()) : null;
+
+            for (IProperty p : pf.getProperties()) {
+
+                String key = p.getUnescapedKey();
+                if (key == null)
+                    continue;
+
+                keys.add(key);
+                if (values == null)
+                    continue;
+
+                String value = I18nUtil.unescapeKeepCR(p.getValue());
+                if (value != null && !value.trim().isEmpty())
+                    values.putIfAbsent(key, value);
+            }
+        }
+
+        List<String> languages = new ArrayList<>(translations.keySet());
+        String prefered = I18nUtil.getPreferedLanguage();
+        if (prefered != null && languages.remove(prefered))
+            languages.add(0, prefered);
+
+        List<Entry> entries = new ArrayList<>();
+        for (String key : keys) {
+
+            String sourceLanguage = null;
+            String source = null;
+            for (String language : languages) {
+                source = translations.get(language).get(key);
+                if (source != null) {
+                    sourceLanguage = language;
+                    break;
+                }
+            }
+
+            for (String language : languages) {
+                if (translations.get(language).containsKey(key))
+                    continue;
+
+                // use the translation key if no other translation
+                if (sourceLanguage == null)
+                    entries.add(new Entry(key, language, Locale.ENGLISH.getLanguage(), I18nUtil.prepareKeyForGoogleTranslation(key)));
+                else
+                    entries.add(new Entry(key, language, sourceLanguage, source));
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Translate entries through the project translation scheduler. Entries sharing the same source and target
+     * languages are sent together, by batches of {@link #BATCH_SIZE} keys, batches running concurrently.
+     * Entries failing are left without translation
+     *
+     * @param entries   the entries, updated with their translation
+     * @param indicator the progress indicator
+     * @return the number of entries translated
+     * @throws IOException when network is not reachable
+     */
+    public int translate(@NotNull List<Entry> entries, @NotNull ProgressIndicator indicator) throws IOException {
+
+        List<List<Entry>> batches = batches(entries);
+        BatchTranslator translator = new BatchTranslator(project);
+
+        // TIPS : only a window of batches is submitted, so cancelling does not leave the whole bundle queued
+        Deque<CompletableFuture<Map<String, String>>> pending = new ArrayDeque<>();
+        int submitted = 0;
+        int done = 0;
+        int translated = 0;
+        for (List<Entry> batch : batches) {
+
+            while (submitted < batches.size() && pending.size() < WINDOW) {
+                List<Entry> next = batches.get(submitted++);
+                Map<String, String> sources = new LinkedHashMap<>();
+                for (Entry e : next)
+                    sources.put(e.key, e.source);
+                pending.add(translator.translateAsync(next.get(0).sourceLanguage, sources, next.get(0).language));
+            }
+
+            Entry first = batch.get(0);
+            indicator.setText2(first.sourceLanguage + " > " + first.language + " : " + batch.size() + " keys");
+            indicator.setFraction((double) done / entries.size());
+
+            try {
+                Map<String, String> translations = TranslationScheduler.await(pending.poll());
+                for (Entry e : batch) {
+                    e.translation = translations != null ? translations.get(e.key) : null;
+                    if (e.translation != null)
+                        translated++;
+                }
+            } catch (UnknownHostException e) {
+                throw e;
+            } catch (IOException e) {
+                LOG.warn("Translation from '" + first.sourceLanguage + "' into '" + first.language + "' failed", e);
+            }
+            done += batch.size();
+        }
+
+        return translated;
+    }
+
+    /**
+     * Group entries by source and target languages, then split groups by batches of {@link #BATCH_SIZE}
+     *
+     * @param entries the entries
+     * @return the batches
+     */
+    @NotNull
+    static List<List<Entry>> batches(@NotNull List<Entry> entries) {
+
+        Map<String, List<Entry>> groups = new LinkedHashMap<>();
+        for (Entry e : entries)
+            groups.computeIfAbsent(e.sourceLanguage + '>' + e.language, k -> new ArrayList<>()).add(e);
+
+        List<List<Entry>> batches = new ArrayList<>();
+        for (List<Entry> group : groups.values()) {
+            for (int i = 0; i < group.size(); i += BATCH_SIZE)
+                batches.add(group.subList(i, Math.min(group.size(), i + BATCH_SIZE)));
+        }
+        return batches;
+    }
+
+    /**
+     * Bulk operation writing the translations of the entries
+     *
+     * @param entries the entries
+     * @return the bulk operation
+     */
+    @NotNull
+    public static I18nBulkOperation toBulkOperation(@NotNull Collection<Entry> entries) {
+        I18nBulkOperation operation = new I18nBulkOperation();
+        for (Entry e : entries) {
+            if (e.translation != null)
+                operation.update(e.key, e.language, e.translation);
+        }
+        return operation;
+    }
+
+    /*******************************************
+     *  Entry
+     */
+    public static class Entry {
+
+        private final String key;
+        private final String language;
+        private final String sourceLanguage;
+        private final String source;
+        private String translation;
+
+        Entry(String key, String language, String sourceLanguage, String source) {
+            this.key = key;
+            this.language = language;
+            this.sourceLanguage = sourceLanguage;
+            this.source = source;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public String getSourceLanguage() {
+            return sourceLanguage;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        @Nullable
+        public String getTranslation() {
+            return translation;
+        }
+
+        public void setTranslation(@Nullable String translation) {
+            this.translation = translation;
+        }
+    }
+}
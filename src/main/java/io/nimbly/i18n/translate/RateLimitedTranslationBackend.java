@@ -0,0 +1,65 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RateLimitedTranslationBackend
+ * Throttle calls to the delegate backend with a token bucket per backend class :
+ * up to 10 calls in a burst, then 5 calls per second.
+ */
+public class RateLimitedTranslationBackend implements TranslationBackend {
+
+    private static final int BURST = 10;
+    private static final double PERMITS_PER_SECOND = 5;
+
+    private static final Map<Class<?>, TokenBucket> BUCKETS = new ConcurrentHashMap<>();
+
+    private final TranslationBackend delegate;
+    private final TokenBucket bucket;
+
+    public RateLimitedTranslationBackend(@NotNull TranslationBackend delegate) {
+        this(delegate, BUCKETS.computeIfAbsent(delegate.getClass(), c -> new TokenBucket(BURST, PERMITS_PER_SECOND)));
+    }
+
+    RateLimitedTranslationBackend(@NotNull TranslationBackend delegate, @NotNull TokenBucket bucket) {
+        this.delegate = delegate;
+        this.bucket = bucket;
+    }
+
+    @NotNull
+    @Override
+    public List<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) throws IOException {
+        try {
+            bucket.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Translation interrupted");
+        }
+        return delegate.translate(sourceLanguage, targetLanguage, texts);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return delegate.isLocal();
+    }
+}
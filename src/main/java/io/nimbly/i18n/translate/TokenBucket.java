@@ -0,0 +1,66 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenBucket
+ * Rate limiter : up to <code>capacity</code> calls in a burst, then <code>permitsPerSecond</code> calls per second
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double permitsPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(int capacity, double permitsPerSecond) {
+        this.capacity = capacity;
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take one token, waiting for it if the bucket is empty
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    public void acquire() throws InterruptedException {
+        long wait;
+        while ((wait = tryAcquire()) > 0)
+            TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    /**
+     * Take one token if available
+     *
+     * @return 0 if token was taken, else the nanoseconds to wait for the next token
+     */
+    public synchronized long tryAcquire() {
+
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) ((1 - tokens) / permitsPerNano));
+    }
+}
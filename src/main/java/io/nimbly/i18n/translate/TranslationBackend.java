@@ -0,0 +1,47 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * TranslationBackend
+ * Translation service. Backends are contributed through the <code>io.nimbly.i18n.translationProvider</code>
+ * extension point, see {@link ChainTranslationBackend}
+ */
+public interface TranslationBackend {
+
+    /**
+     * Translate texts
+     *
+     * @param sourceLanguage the source language
+     * @param targetLanguage the target language
+     * @param texts          the texts to translate
+     * @return the translations, same size and order as texts. Items are null when no translation was found
+     * @throws IOException the io exception
+     */
+    @NotNull
+    List<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) throws IOException;
+
+    /**
+     * Local backends answer without network : they are consulted first and their answers are not cached
+     */
+    default boolean isLocal() {
+        return false;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.openapi.application.ApplicationManager;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * TranslationBackendService
+ * Application wide translation backend : providers registered as extensions, remote ones behind the translation memory.
+ */
+public class TranslationBackendService {
+
+    private volatile TranslationBackend backend;
+
+    public static TranslationBackendService getInstance() {
+        return ApplicationManager.getApplication().getService(TranslationBackendService.class);
+    }
+
+    public TranslationBackendService() {
+        this.backend = ChainTranslationBackend.fromExtensions(TranslationMemory.getInstance());
+    }
+
+    @NotNull
+    public TranslationBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Sets translation backend, i.e. a local stand-in server
+     *
+     * @param backend the translation backend
+     */
+    public void setBackend(@NotNull TranslationBackend backend) {
+        this.backend = backend;
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TranslationMemory
+ * On disk memory of already done translations, keyed by source language, target language
+ * and normalized source text. Least recently used entries are evicted when full.
+ * Saves are grouped : the file is written a few seconds after the last change, and when disposed.
+ */
+public class TranslationMemory implements Disposable {
+
+    private static final Logger LOG = LoggerFactory.getInstance(TranslationMemory.class);
+
+    public static final int DEFAULT_MAX_ENTRIES = 20000;
+    private static final int VERSION = 2;
+    private static final char SEPARATOR = '\u0000';
+    private static final long SAVE_DELAY = 5;
+
+    private final Path file;
+    private final int maxEntries;
+    private final LinkedHashMap<String, String> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+
+    private boolean loaded = false;
+    private boolean dirty = false;
+
+    public static TranslationMemory getInstance() {
+        return ApplicationManager.getApplication().getService(TranslationMemory.class);
+    }
+
+    public TranslationMemory() {
+        this(Paths.get(PathManager.getSystemPath(), "i18n", "translation-memory.bin"), DEFAULT_MAX_ENTRIES);
+    }
+
+    public TranslationMemory(@NotNull Path file, int maxEntries) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > TranslationMemory.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets translation
+     *
+     * @param sourceLanguage the source language
+     * @param targetLanguage the target language
+     * @param text           the source text
+     * @return the translation or null if unknown
+     */
+    @Nullable
+    public synchronized String get(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull String text) {
+        load();
+        String translation = entries.get(key(sourceLanguage, targetLanguage, text));
+        if (translation != null)
+            hits.incrementAndGet();
+        else
+            misses.incrementAndGet();
+        return translation;
+    }
+
+    /**
+     * Remember translation
+     *
+     * @param sourceLanguage the source language
+     * @param targetLanguage the target language
+     * @param text           the source text
+     * @param translation    the translation
+     */
+    public synchronized void put(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull String text, @NotNull String translation) {
+        load();
+        entries.put(key(sourceLanguage, targetLanguage, text), translation);
+        dirty = true;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        loaded = true;
+        dirty = true;
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public synchronized int size() {
+        load();
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Normalize source text : trim and collapse white spaces
+     */
+    @NotNull
+    public static String normalize(@NotNull String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+            }
+            else {
+                if (space)
+                    sb.append(' ');
+                sb.append(c);
+                space = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String key(String sourceLanguage, String targetLanguage, String text) {
+        return sourceLanguage + SEPARATOR + targetLanguage + SEPARATOR + normalize(text);
+    }
+
+    /**
+     * Save memory to disk a few seconds later, changes in between are saved at once
+     */
+    public void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+                saveScheduled.set(false);
+                save();
+            }, SAVE_DELAY, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Save memory to disk, if modified
+     */
+    public void save() {
+
+        // TIPS : file is written outside of the memory lock, from a copy
+        synchronized (writeLock) {
+
+            List<Map.Entry<String, String>> copy;
+            synchronized (this) {
+                if (!dirty)
+                    return;
+                copy = new ArrayList<>(entries.size());
+                for (Map.Entry<String, String> e : entries.entrySet())
+                    copy.add(Map.entry(e.getKey(), e.getValue()));
+                dirty = false;
+            }
+
+            try {
+                Files.createDirectories(file.getParent());
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(VERSION);
+                    out.writeInt(copy.size());
+                    for (Map.Entry<String, String> e : copy) {
+                        writeString(out, e.getKey());
+                        writeString(out, e.getValue());
+                    }
+                }
+
+                // TIPS : a crash while writing leaves the previous file untouched
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+            } catch (IOException e) {
+                LOG.warn("Translation memory save error", e);
+                synchronized (this) {
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        if (loaded)
+            return;
+        loaded = true;
+
+        if (!Files.exists(file))
+            return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != VERSION)
+                return;
+
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                entries.put(readString(in), readString(in));
+            }
+        } catch (IOException e) {
+            LOG.warn("Translation memory load error", e);
+            entries.clear();
+        }
+    }
+
+    /**
+     * Length prefixed utf-8 : unlike writeUTF, no 64 KB limit
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0)
+            throw new IOException("Corrupted translation memory");
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void dispose() {
+        save();
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.nimbly.i18n.util.I18nUtil;
+import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TranslationScheduler
+ * Runs translation requests on a bounded pool. Remote backends are throttled below the translation memory,
+ * see {@link RateLimitedTranslationBackend}.
+ * Texts of a request are sent together in one backend call.
+ * Transient failures, i.e. timeouts, connection resets, http 429 and 5xx, are retried with exponential backoff.
+ * Workers are released while waiting for a retry. Identical requests in flight are sent once.
+ */
+public class TranslationScheduler implements Disposable {
+
+    private static final Logger LOG = LoggerFactory.getInstance(TranslationScheduler.class);
+
+    public static final int MAX_WORKERS = 4;
+    public static final int MAX_RETRIES = 3;
+    private static final long BACKOFF_MS = 500;
+
+    private final ExecutorService executor;
+    private final ScheduledExecutorService retryExecutor;
+    private final Map<Request, CompletableFuture<List<String>>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deduplicated = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    public static TranslationScheduler getInstance(@NotNull Project project) {
+        return project.getService(TranslationScheduler.class);
+    }
+
+    public TranslationScheduler() {
+        this.executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("I18n translations", MAX_WORKERS, this);
+        this.retryExecutor = AppExecutorUtil.getAppScheduledExecutorService();
+    }
+
+    TranslationScheduler(@NotNull ExecutorService executor) {
+        this(executor, AppExecutorUtil.getAppScheduledExecutorService());
+    }
+
+    TranslationScheduler(@NotNull ExecutorService executor, @NotNull ScheduledExecutorService retryExecutor) {
+        this.executor = executor;
+        this.retryExecutor = retryExecutor;
+    }
+
+    /**
+     * Schedule translation, using current translation backend
+     *
+     * @param sourceLanguage the source language
+     * @param targetLanguage the target language
+     * @param text           the text
+     * @return the translation, null if none
+     */
+    @NotNull
+    public CompletableFuture<String> translate(@NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull String text) {
+        return translate(I18nUtil.getTranslationBackend(), sourceLanguage, targetLanguage, text);
+    }
+
+    /**
+     * Schedule translation
+     *
+     * @param backend        the backend
+     * @param sourceLanguage the source language
+     * @param targetLanguage the target language
+     * @param text           the text
+     * @return the translation, null if none
+     */
+    @NotNull
+    public CompletableFuture<String> translate(@NotNull TranslationBackend backend, @NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull String text) {
+        return translate(backend, sourceLanguage, targetLanguage, Collections.singletonList(text))
+                .thenApply(translations -> translations.isEmpty() ? null : translations.get(0));
+    }
+
+    /**
+     * Schedule translation of many texts, sent in one backend call
+     *
+     * @param backend        the backend
+     * @param sourceLanguage the source language
+     * @param targetLanguage the target language
+     * @param texts          the texts
+     * @return the translations, same size and order as texts. Items are null when no translation was found
+     */
+    @NotNull
+    public CompletableFuture<List<String>> translate(@NotNull TranslationBackend backend, @NotNull String sourceLanguage, @NotNull String targetLanguage, @NotNull List<String> texts) {
+
+        Request request = new Request(backend, sourceLanguage, targetLanguage, texts);
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        CompletableFuture<List<String>> existing = inFlight.putIfAbsent(request, future);
+        if (existing != null) {
+            deduplicated.incrementAndGet();
+            return existing;
+        }
+
+        queued.incrementAndGet();
+        submit(request, future, System.nanoTime(), 0);
+        return future;
+    }
+
+    private void submit(Request request, CompletableFuture<List<String>> future, long submitted, int attempt) {
+        try {
+            executor.execute(() -> run(request, future, submitted, attempt));
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            failed.incrementAndGet();
+            finish(request, future, submitted);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void run(Request request, CompletableFuture<List<String>> future, long submitted, int attempt) {
+
+        queued.decrementAndGet();
+        if (future.isDone()) {
+            // TIPS : canceled while waiting
+            finish(request, future, submitted);
+            return;
+        }
+
+        running.incrementAndGet();
+        boolean retry = false;
+        try {
+            future.complete(request.backend.translate(request.sourceLanguage, request.targetLanguage, request.texts));
+            completed.incrementAndGet();
+        } catch (Throwable e) {
+            if (attempt < MAX_RETRIES && isTransient(e)) {
+                retry = true;
+                retry(request, future, submitted, attempt, e);
+            } else {
+                failed.incrementAndGet();
+                future.completeExceptionally(e);
+            }
+        } finally {
+            running.decrementAndGet();
+            if (!retry)
+                finish(request, future, submitted);
+        }
+    }
+
+    private void retry(Request request, CompletableFuture<List<String>> future, long submitted, int attempt, Throwable e) {
+
+        long backoff = BACKOFF_MS << attempt;
+        LOG.debug("Translation failed, retry in " + backoff + " ms : " + e.getMessage());
+        retried.incrementAndGet();
+        queued.incrementAndGet();
+        try {
+            retryExecutor.schedule(() -> submit(request, future, submitted, attempt + 1), backoff, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ex) {
+            queued.decrementAndGet();
+            failed.incrementAndGet();
+            finish(request, future, submitted);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void finish(Request request, CompletableFuture<List<String>> future, long submitted) {
+
+        inFlight.remove(request, future);
+
+        long latency = System.nanoTime() - submitted;
+        totalLatency.addAndGet(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Is failure worth retrying : timeouts, connection resets, too many requests and server errors.
+     * Unknown host, client errors and interruptions are not
+     */
+    static boolean isTransient(Throwable e) {
+        if (e instanceof TranslationHttpException)
+            return ((TranslationHttpException) e).isTransient();
+        return e instanceof SocketTimeoutException || e instanceof SocketException;
+    }
+
+    /**
+     * Wait for translation, checking progress cancellation
+     *
+     * @param future the future
+     * @return the translation
+     * @throws IOException the io exception
+     */
+    @Nullable
+    public static <T> T await(@NotNull Future<T> future) throws IOException {
+        while (true) {
+            ProgressManager.checkCanceled();
+            try {
+                return future.get(50, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                // TIPS : loop to check cancellation
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Translation interrupted", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException)
+                    throw (IOException) e.getCause();
+                throw new IOException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Gets statistics
+     */
+    @NotNull
+    public Stats getStats() {
+        long count = completed.get() + failed.get();
+        return new Stats(queued.get(), running.get(), completed.get(), failed.get(), retried.get(), deduplicated.get(),
+                count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatency.get() / count) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxLatency.get()));
+    }
+
+    @Override
+    public void dispose() {
+        for (CompletableFuture<List<String>> future : inFlight.values()) {
+            future.cancel(false);
+        }
+        inFlight.clear();
+    }
+
+    /*******************************************
+     *  Request
+     */
+    private static class Request {
+
+        private final TranslationBackend backend;
+        private final String sourceLanguage;
+        private final String targetLanguage;
+        private final List<String> texts;
+
+        Request(TranslationBackend backend, String sourceLanguage, String targetLanguage, List<String> texts) {
+            this.backend = backend;
+            this.sourceLanguage = sourceLanguage;
+            this.targetLanguage = targetLanguage;
+            this.texts = texts;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Request))
+                return false;
+            Request r = (Request) o;
+            return backend == r.backend && sourceLanguage.equals(r.sourceLanguage)
+                    && targetLanguage.equals(r.targetLanguage) && texts.equals(r.texts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(backend), sourceLanguage, targetLanguage, texts);
+        }
+    }
+
+    /*******************************************
+     *  Stats
+     */
+    public static class Stats {
+
+        private final int queued;
+        private final int running;
+        private final long completed;
+        private final long failed;
+        private final long retried;
+        private final long deduplicated;
+        private final long averageLatency;
+        private final long maxLatency;
+
+        Stats(int queued, int running, long completed, long failed, long retried, long deduplicated, long averageLatency, long maxLatency) {
+            this.queued = queued;
+            this.running = running;
+            this.completed = completed;
+            this.failed = failed;
+            this.retried = retried;
+            this.deduplicated = deduplicated;
+            this.averageLatency = averageLatency;
+            this.maxLatency = maxLatency;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getRetried() {
+            return retried;
+        }
+
+        public long getDeduplicated() {
+            return deduplicated;
+        }
+
+        /**
+         * Average latency in ms, from submission to completion
+         */
+        public long getAverageLatency() {
+            return averageLatency;
+        }
+
+        /**
+         * Max latency in ms, from submission to completion
+         */
+        public long getMaxLatency() {
+            return maxLatency;
+        }
+
+        @Override
+        public String toString() {
+            return "queued=" + queued + " running=" + running + " completed=" + completed + " failed=" + failed
+                    + " retried=" + retried + " deduplicated=" + deduplicated
+                    + " avg=" + averageLatency + "ms max=" + maxLatency + "ms";
+        }
+    }
+}
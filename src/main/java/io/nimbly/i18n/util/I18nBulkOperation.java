@@ -0,0 +1,199 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * I18nBulkOperation
+ * Set of key mutations applied to all properties files of a bundle,
+ * into one single write command and one single pass per file.
+ *
+ * <pre>
+ *   new I18nBulkOperation()
+ *       .renamePrefix("order.form.", "checkout.form.")
+ *       .delete("order.title")
+ *       .apply(bundle, project);
+ * </pre>
+ */
+public class I18nBulkOperation {
+
+    private static final Logger LOG = LoggerFactory.getInstance(I18nBulkOperation.class);
+
+    private final Set<String> deletes = new HashSet<>();
+    private final Map<String, String> renames = new HashMap<>();
+    private final Map<String, String> prefixRenames = new LinkedHashMap<>();
+    private final Map<String, Map<String, String>> creates = new TreeMap<>();
+    private final Map<String, Map<String, String>> updates = new HashMap<>();
+
+    /**
+     * Delete key
+     */
+    public I18nBulkOperation delete(@NotNull String key) {
+        deletes.add(key);
+        return this;
+    }
+
+    /**
+     * Rename key
+     */
+    public I18nBulkOperation rename(@NotNull String key, @NotNull String newKey) {
+        if (!key.equals(newKey))
+            renames.put(key, newKey);
+        return this;
+    }
+
+    /**
+     * Rename all keys starting with prefix
+     */
+    public I18nBulkOperation renamePrefix(@NotNull String prefix, @NotNull String newPrefix) {
+        if (!prefix.equals(newPrefix))
+            prefixRenames.put(prefix, newPrefix);
+        return this;
+    }
+
+    /**
+     * Create key with an empty translation for each language
+     */
+    public I18nBulkOperation create(@NotNull String key) {
+        creates.computeIfAbsent(key, k -> new HashMap<>());
+        return this;
+    }
+
+    /**
+     * Create key with a translation for the given language, empty translation for others
+     */
+    public I18nBulkOperation create(@NotNull String key, @NotNull String language, @NotNull String value) {
+        creates.computeIfAbsent(key, k -> new HashMap<>()).put(language, value);
+        return this;
+    }
+
+    /**
+     * Set translation of the given language, key is created into this language only when missing
+     */
+    public I18nBulkOperation update(@NotNull String key, @NotNull String language, @NotNull String value) {
+        updates.computeIfAbsent(language, l -> new HashMap<>()).put(key, value);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return deletes.isEmpty() && renames.isEmpty() && prefixRenames.isEmpty() && creates.isEmpty() && updates.isEmpty();
+    }
+
+    /**
+     * Apply all mutations to the bundle into one write command
+     *
+     * @param bundle  the bundle
+     * @param project the project
+     */
+    public void apply(@NotNull ResourceBundle bundle, @NotNull Project project) {
+        apply(bundle, project, "Update keys of '" + bundle.getBaseName() + "'");
+    }
+
+    /**
+     * Apply all mutations to the bundle into one write command
+     *
+     * @param bundle      the bundle
+     * @param project     the project
+     * @param commandName the command name, as shown by undo
+     */
+    public void apply(@NotNull ResourceBundle bundle, @NotNull Project project, @NotNull String commandName) {
+
+        if (isEmpty())
+            return;
+
+        List<PropertiesFile> files = bundle.getPropertiesFiles();
+        I18nUtil.executeWriteCommand(project, commandName, () -> {
+            for (PropertiesFile pf : files) {
+                try {
+                    apply(pf);
+                } catch (Exception e) {
+                    LOG.error("Bulk update error on " + pf.getName(), e);
+                }
+            }
+        });
+    }
+
+    private void apply(PropertiesFile pf) {
+
+        String language = I18nUtil.getLanguage(pf);
+        Map<String, String> fileUpdates = language != null ? updates.getOrDefault(language, Collections.emptyMap()) : Collections.emptyMap();
+
+        // one pass : delete, rename and collect existing keys
+        Set<String> existing = new HashSet<>();
+        for (IProperty p : pf.getProperties()) {
+
+            String key = p.getUnescapedKey();
+            if (key == null)
+                continue;
+
+            if (deletes.contains(key)) {
+                p.getPsiElement().getNavigationElement().delete();
+                continue;
+            }
+
+            String newKey = getNewKey(key);
+            if (newKey != null) {
+                p.setName(I18nUtil.unicodeEscape(newKey));
+                key = newKey;
+            }
+
+            String value = fileUpdates.get(key);
+            if (value != null)
+                p.setValue(I18nUtil.unicodeEscape(value));
+
+            existing.add(key);
+        }
+
+        if (creates.isEmpty() && fileUpdates.isEmpty())
+            return;
+
+        // insert new keys at their sorted position
+        SortedMap<String, String> values = new TreeMap<>();
+        for (Map.Entry<String, Map<String, String>> e : creates.entrySet()) {
+            if (!existing.contains(e.getKey()))
+                values.put(e.getKey(), e.getValue().getOrDefault(language, ""));
+        }
+        for (Map.Entry<String, String> e : fileUpdates.entrySet()) {
+            if (!existing.contains(e.getKey()))
+                values.put(e.getKey(), e.getValue());
+        }
+
+        if (!values.isEmpty())
+            I18nUtil.insertProperties(pf, values);
+    }
+
+    @Nullable
+    private String getNewKey(String key) {
+
+        String newKey = renames.get(key);
+        if (newKey != null)
+            return newKey;
+
+        for (Map.Entry<String, String> e : prefixRenames.entrySet()) {
+            if (key.startsWith(e.getKey()))
+                return e.getValue() + key.substring(e.getKey().length());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * I18nLocale
+ * Locale of a properties file, parsed from its name :
+ * <code>baseName_language[_Script][_REGION][_variant].properties</code>
+ * <p>
+ * i.e. <code>Messages_zh_Hans_CN.properties</code> : base name 'Messages', language 'zh', script 'Hans', region 'CN'.
+ * Base name may contain underscores, the locale is the shortest suffix of segments being a valid locale :
+ * <code>my_app_en.properties</code> is base name 'my_app', language 'en'. Non standard names fall back to the first underscore.
+ */
+public final class I18nLocale {
+
+    private static final Key<I18nLocale> KEY = Key.create("io.nimbly.i18n.I18nLocale");
+    private static final String EXTENSION = ".properties";
+
+    private final String fileName;
+    private final String baseName;
+    private final String language;
+    private final String script;
+    private final String region;
+    private final String variant;
+    private final String tag;
+    private Locale locale;
+
+    private I18nLocale(String fileName, String baseName, String language, String script, String region, String variant, String tag) {
+        this.fileName = fileName;
+        this.baseName = baseName;
+        this.language = language;
+        this.script = script;
+        this.region = region;
+        this.variant = variant;
+        this.tag = tag;
+    }
+
+    /**
+     * Gets locale of the file, cached into the file as long as it is not renamed
+     *
+     * @param file the file
+     * @return the locale, null if file name has no locale
+     */
+    @Nullable
+    public static I18nLocale of(@NotNull VirtualFile file) {
+        String name = file.getName();
+        I18nLocale locale = file.getUserData(KEY);
+        if (locale == null || !locale.fileName.equals(name)) {
+            locale = parse(name);
+            if (locale == null)
+                locale = none(name);
+            file.putUserData(KEY, locale);
+        }
+        return locale.isNone() ? null : locale;
+    }
+
+    /**
+     * File name without locale : remembered as well, so it is not parsed again
+     */
+    private static I18nLocale none(String fileName) {
+        return new I18nLocale(fileName, "", "", null, null, null, "");
+    }
+
+    private boolean isNone() {
+        return tag.isEmpty();
+    }
+
+    /**
+     * Parse file name
+     *
+     * @param fileName the file name, with or without extension
+     * @return the locale, null if file name has no locale
+     */
+    @Nullable
+    public static I18nLocale parse(@NotNull String fileName) {
+
+        String name = fileName.endsWith(EXTENSION) ? fileName.substring(0, fileName.length() - EXTENSION.length()) : fileName;
+        String[] parts = name.split("_", -1);
+
+        // TIPS : from the right, so base name keeps segments looking like a language
+        for (int i = parts.length - 1; i > 0; i--) {
+            I18nLocale locale = parse(fileName, name, parts, i);
+            if (locale != null)
+                return locale;
+        }
+
+        // TIPS : not a standard locale (i.e. 'Messages_default'), keep everything after first underscore
+        int i = name.indexOf('_');
+        if (i <= 0 || i == name.length() - 1)
+            return null;
+
+        String tag = name.substring(i + 1);
+        return new I18nLocale(fileName, name.substring(0, i), tag, null, null, null, tag);
+    }
+
+    /**
+     * Parse language tag, as returned by {@link #getTag()}
+     *
+     * @param tag the tag, i.e. 'zh_Hans_CN'
+     * @return the locale, null if not valid
+     */
+    @Nullable
+    public static I18nLocale parseTag(@NotNull String tag) {
+        return parse(tag, "_" + tag, ("_" + tag).split("_", -1), 1);
+    }
+
+    @Nullable
+    private static I18nLocale parse(String fileName, String name, String[] parts, int start) {
+
+        int i = start;
+        String language = parts[i++];
+        if (!isLanguage(language))
+            return null;
+
+        String script = null;
+        if (i < parts.length && isScript(parts[i]))
+            script = parts[i++];
+
+        String region = null;
+        if (i < parts.length && isRegion(parts[i]))
+            region = parts[i++];
+
+        String variant = null;
+        if (i < parts.length) {
+            if (i != parts.length - 1 || !isVariant(parts[i]))
+                return null;
+            variant = parts[i];
+        }
+
+        int baseLength = 0;
+        for (int j = 0; j < start; j++) {
+            baseLength += parts[j].length() + 1;
+        }
+
+        String baseName = name.substring(0, baseLength - 1);
+        String tag = name.substring(baseLength);
+        return new I18nLocale(fileName, baseName, language, script, region, variant, tag);
+    }
+
+    private static boolean isLanguage(String s) {
+        if (s.length() < 2 || s.length() > 3)
+            return false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 'a' || c > 'z')
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isScript(String s) {
+        if (s.length() != 4 || !Character.isUpperCase(s.charAt(0)))
+            return false;
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isLetter(s.charAt(i)))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isRegion(String s) {
+        if (s.length() == 2)
+            return Character.isUpperCase(s.charAt(0)) && Character.isUpperCase(s.charAt(1));
+        if (s.length() == 3)
+            return Character.isDigit(s.charAt(0)) && Character.isDigit(s.charAt(1)) && Character.isDigit(s.charAt(2));
+        return false;
+    }
+
+    /**
+     * Variant : 5 to 8 alphanumerics, or a digit followed by 3 alphanumerics
+     */
+    private static boolean isVariant(String s) {
+        if (s.length() < 4 || s.length() > 8)
+            return false;
+        if (s.length() == 4 && !Character.isDigit(s.charAt(0)))
+            return false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets bundle base name, i.e. 'Messages'
+     */
+    @NotNull
+    public String getBaseName() {
+        return baseName;
+    }
+
+    /**
+     * Gets language code, i.e. 'zh'
+     */
+    @NotNull
+    public String getLanguage() {
+        return language;
+    }
+
+    @Nullable
+    public String getScript() {
+        return script;
+    }
+
+    @Nullable
+    public String getRegion() {
+        return region;
+    }
+
+    @Nullable
+    public String getVariant() {
+        return variant;
+    }
+
+    /**
+     * Gets the language tag as written into file name, i.e. 'zh_Hans_CN'.
+     * This is the 'language' identifier used all over the plugin
+     */
+    @NotNull
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Gets java locale
+     */
+    @NotNull
+    public Locale toLocale() {
+        if (locale == null) {
+            Locale.Builder builder = new Locale.Builder();
+            try {
+                builder.setLanguage(language);
+                if (script != null)
+                    builder.setScript(script);
+                if (region != null)
+                    builder.setRegion(region);
+                if (variant != null)
+                    builder.setVariant(variant);
+            } catch (RuntimeException ignored) {
+                // TIPS : keep what is valid
+            }
+            locale = builder.build();
+        }
+        return locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof I18nLocale))
+            return false;
+        I18nLocale that = (I18nLocale) o;
+        return baseName.equals(that.baseName) && tag.equals(that.tag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(baseName, tag);
+    }
+
+    @Override
+    public String toString() {
+        return baseName + "_" + tag;
+    }
+}
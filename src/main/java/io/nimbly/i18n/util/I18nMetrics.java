@@ -0,0 +1,292 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.project.Project;
+import io.nimbly.i18n.translate.TranslationMemory;
+import io.nimbly.i18n.translate.TranslationScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * I18nMetrics
+ * Low overhead timers and cache hit counters of the plugin hot paths.
+ * Timers keep count, total, max and a latency histogram, no sample is retained.
+ *
+ * <pre>
+ *   long start = I18nMetrics.start();
+ *   try { ... } finally { I18nMetrics.stop("loadTranslation", start); }
+ * </pre>
+ */
+public final class I18nMetrics {
+
+    /** Histogram buckets upper bounds, in ms. Last bucket is unbounded */
+    public static final long[] BOUNDS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Map<String, Ratio> RATIOS = new ConcurrentHashMap<>();
+
+    private I18nMetrics() {
+    }
+
+    /**
+     * Start timer
+     *
+     * @return the start time
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Stop timer
+     *
+     * @param name  the timer name
+     * @param start the start time, as returned by {@link #start()}
+     */
+    public static void stop(@NotNull String name, long start) {
+        TIMERS.computeIfAbsent(name, Timer::new).record(System.nanoTime() - start);
+    }
+
+    /**
+     * Count a cache hit
+     */
+    public static void hit(@NotNull String name) {
+        RATIOS.computeIfAbsent(name, Ratio::new).hits.increment();
+    }
+
+    /**
+     * Count a cache miss
+     */
+    public static void miss(@NotNull String name) {
+        RATIOS.computeIfAbsent(name, Ratio::new).misses.increment();
+    }
+
+    /**
+     * Gets timers, sorted by name
+     */
+    @NotNull
+    public static List<Timer> getTimers() {
+        List<Timer> list = new ArrayList<>(TIMERS.values());
+        list.sort(Comparator.comparing(Timer::getName));
+        return list;
+    }
+
+    /**
+     * Gets cache ratios, sorted by name
+     */
+    @NotNull
+    public static List<Ratio> getRatios() {
+        List<Ratio> list = new ArrayList<>(RATIOS.values());
+        list.sort(Comparator.comparing(Ratio::getName));
+        return list;
+    }
+
+    public static void reset() {
+        TIMERS.clear();
+        RATIOS.clear();
+    }
+
+    /**
+     * Json snapshot of all metrics, to be attached to bug reports
+     *
+     * @param project the project, to add its translation scheduler statistics
+     * @return the json
+     */
+    @NotNull
+    public static String toJson(@Nullable Project project) {
+
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp", System.currentTimeMillis());
+
+        JsonArray timers = new JsonArray();
+        for (Timer timer : getTimers()) {
+            JsonObject t = new JsonObject();
+            t.addProperty("name", timer.getName());
+            t.addProperty("count", timer.getCount());
+            t.addProperty("averageMs", timer.getAverage());
+            t.addProperty("p50Ms", timer.getPercentile(0.50));
+            t.addProperty("p95Ms", timer.getPercentile(0.95));
+            t.addProperty("maxMs", timer.getMax());
+            JsonObject histogram = new JsonObject();
+            long[] counts = timer.getHistogram();
+            for (int i = 0; i < counts.length; i++)
+                histogram.addProperty(i < BOUNDS.length ? "<" + BOUNDS[i] : ">=" + BOUNDS[BOUNDS.length - 1], counts[i]);
+            t.add("histogram", histogram);
+            timers.add(t);
+        }
+        root.add("timers", timers);
+
+        JsonArray ratios = new JsonArray();
+        for (Ratio ratio : getRatios())
+            ratios.add(ratio(ratio.getName(), ratio.getHits(), ratio.getMisses()));
+
+        TranslationMemory memory = TranslationMemory.getInstance();
+        ratios.add(ratio("translationMemory", memory.getHits(), memory.getMisses()));
+        root.add("caches", ratios);
+
+        if (project != null) {
+            TranslationScheduler.Stats stats = TranslationScheduler.getInstance(project).getStats();
+            JsonObject s = new JsonObject();
+            s.addProperty("queued", stats.getQueued());
+            s.addProperty("running", stats.getRunning());
+            s.addProperty("completed", stats.getCompleted());
+            s.addProperty("failed", stats.getFailed());
+            s.addProperty("retried", stats.getRetried());
+            s.addProperty("deduplicated", stats.getDeduplicated());
+            s.addProperty("averageLatencyMs", stats.getAverageLatency());
+            s.addProperty("maxLatencyMs", stats.getMaxLatency());
+            root.add("translationScheduler", s);
+        }
+
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private static JsonObject ratio(String name, long hits, long misses) {
+        JsonObject r = new JsonObject();
+        r.addProperty("name", name);
+        r.addProperty("hits", hits);
+        r.addProperty("misses", misses);
+        r.addProperty("hitRatio", hits + misses > 0 ? (double) hits / (hits + misses) : 0);
+        return r;
+    }
+
+    /*******************************************
+     *  Timer
+     */
+    public static class Timer {
+
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+        private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+        Timer(String name) {
+            this.name = name;
+            for (int i = 0; i < buckets.length; i++)
+                buckets[i] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+
+            long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int i = 0;
+            while (i < BOUNDS.length && ms >= BOUNDS[i])
+                i++;
+            buckets[i].increment();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Average in ms
+         */
+        public double getAverage() {
+            long c = count.sum();
+            return c > 0 ? total.sum() / 1e6 / c : 0;
+        }
+
+        /**
+         * Max in ms
+         */
+        public double getMax() {
+            return max.get() / 1e6;
+        }
+
+        /**
+         * Percentile in ms, upper bound of the histogram bucket
+         *
+         * @param p the percentile, i.e. 0.95
+         */
+        public double getPercentile(double p) {
+            long[] counts = getHistogram();
+            long c = 0;
+            for (long n : counts)
+                c += n;
+            if (c == 0)
+                return 0;
+
+            long rank = (long) Math.ceil(p * c);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank)
+                    return i < BOUNDS.length ? BOUNDS[i] : getMax();
+            }
+            return getMax();
+        }
+
+        public long[] getHistogram() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++)
+                counts[i] = buckets[i].sum();
+            return counts;
+        }
+    }
+
+    /*******************************************
+     *  Ratio
+     */
+    public static class Ratio {
+
+        private final String name;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        Ratio(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public double getHitRatio() {
+            long h = hits.sum();
+            long t = h + misses.sum();
+            return t > 0 ? (double) h / t : 0;
+        }
+    }
+}
@@ -15,11 +15,9 @@
 package io.nimbly.i18n.util;
 
 import com.google.common.base.CaseFormat;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 import com.intellij.lang.properties.IProperty;
 import com.intellij.lang.properties.PropertiesFileType;
+import com.intellij.lang.properties.PropertiesLanguage;
 import com.intellij.lang.properties.ResourceBundle;
 import com.intellij.lang.properties.psi.PropertiesElementFactory;
 import com.intellij.lang.properties.psi.PropertiesFile;
@@ -27,25 +25,41 @@ import com.intellij.lang.properties.psi.impl.PropertyImpl;
 import com.intellij.openapi.application.Application;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.concurrency.JobLauncher;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiPackage;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.util.net.HttpConfigurable;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import io.nimbly.i18n.index.I18nBundleLocales;
+import io.nimbly.i18n.index.I18nBundleRegistry;
+import io.nimbly.i18n.index.I18nKeyIndex;
+import io.nimbly.i18n.translate.BatchTranslator;
+import io.nimbly.i18n.translate.TranslationBackend;
+import io.nimbly.i18n.translate.TranslationBackendService;
+import io.nimbly.i18n.translate.TranslationScheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URLConnection;
-import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * I18nHelper
@@ -65,6 +79,8 @@ public class I18nUtil {
 
     //    private static final Map<Module, I18nUtil> instances = new HashMap<>();
     private static final Map<Module, I18nUtil> instances = new WeakHashMap<>();
+
+    private static final Key<CachedValue<Map<String, Optional<String>>>> PREFERED_TRANSLATIONS = Key.create("I18N_PREFERED_TRANSLATIONS");
     private final Module module;
 
     private VirtualFile cacheI8nFolder = null;
@@ -101,11 +117,59 @@ public class I18nUtil {
      * @return the string
      */
     public static String unicodeEscape(String s) {
-        StringBuilder sb = new StringBuilder();
+
+        // TIPS : most values are plain ascii, nothing to escape
+        int first = indexOfCharToEscape(s);
+        if (first < 0)
+            return s;
+
+        StringBuilder sb = new StringBuilder(s.length() + 16);
+        sb.append(s, 0, first);
+        escape(s, first, sb);
+        return sb.toString();
+    }
+
+    /**
+     * unicodeEscape, streaming result into the given output
+     *
+     * @param s   the s
+     * @param out the output
+     * @throws IOException the io exception
+     */
+    public static void unicodeEscape(CharSequence s, Appendable out) throws IOException {
+
+        int first = indexOfCharToEscape(s);
+        if (first < 0) {
+            out.append(s);
+            return;
+        }
+
+        out.append(s, 0, first);
+        escape(s, first, out);
+    }
+
+    private static int indexOfCharToEscape(CharSequence s) {
         for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c >> 7) > 0 || c == '\n' || c == '\r' || c == '\t')
+                return i;
+        }
+        return -1;
+    }
+
+    private static void escape(CharSequence s, int from, StringBuilder sb) {
+        try {
+            escape(s, from, (Appendable) sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // never happens with a StringBuilder
+        }
+    }
+
+    private static void escape(CharSequence s, int from, Appendable sb) throws IOException {
+        for (int i = from; i < s.length(); i++) {
             char c = s.charAt(i);
             if ((c >> 7) > 0) {
-                sb.append("\\u");
+                sb.append('\\').append('u');
                 sb.append(hexChar[(c >> 12) & 0xF]); // append the hex character for the left-most 4-bits
                 sb.append(hexChar[(c >> 8) & 0xF]);  // hex for the second group of 4-bits from the left
                 sb.append(hexChar[(c >> 4) & 0xF]);  // hex for the third group
@@ -118,13 +182,12 @@ public class I18nUtil {
                     sb.append(c);
             }
             else if (c == '\t') {
-                sb.append("\\t");
+                sb.append('\\').append('t');
             }
             else {
                 sb.append(c);
             }
         }
-        return sb.toString();
     }
 
     private static final char[] hexChar = {
@@ -191,28 +254,12 @@ public class I18nUtil {
         if (resourceBundle == null)
             return Collections.emptyList();
 
-        List<String> languages = new ArrayList<>();
-        for (PropertiesFile f : resourceBundle.getPropertiesFiles()) {
-
-            String name = f.getName();
-            int i = name.indexOf('_');
-            if (i < 0 || i == name.length() - 1)
-                continue;
-
-            if (name.endsWith(".properties"))
-                name = name.substring(0, name.length()-11);
-
-            String lang = name.substring(i + 1);
-            languages.add(lang);
-        }
-
-        if (languages.remove("de")) languages.add(0, "de");
-        if (languages.remove("es")) languages.add(0, "es");
-        if (languages.remove("fr")) languages.add(0, "fr");
-        if (languages.remove("en")) languages.add(0, "en");
+        return getLocales(resourceBundle).getLanguages();
 
-        return languages;
+    }
 
+    private static I18nBundleLocales getLocales(ResourceBundle resourceBundle) {
+        return I18nBundleRegistry.getInstance(resourceBundle.getProject()).getLocales(resourceBundle);
     }
 
     /**
@@ -275,9 +322,26 @@ public class I18nUtil {
      */
     public static String getPreferedTranslation(String key, String language, Module module) {
 
+        // TIPS : memoized per module, misses included, until some properties file changes
+        Map<String, Optional<String>> translations = CachedValuesManager.getManager(module.getProject()).getCachedValue(module, PREFERED_TRANSLATIONS, () ->
+                CachedValueProvider.Result.create(new ConcurrentHashMap<>(),
+                        PsiModificationTracker.getInstance(module.getProject()).forLanguage(PropertiesLanguage.INSTANCE),
+                        VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS,
+                        ProjectRootManager.getInstance(module.getProject())), false);
+
+        String lang = language.toLowerCase();
+        String cacheKey = lang + ':' + key;
+        Optional<String> translation = translations.get(cacheKey);
+        if (translation == null) {
+            translation = Optional.ofNullable(doGetPreferedTranslation(key, lang, module));
+            translations.put(cacheKey, translation);
+        }
+        return translation.orElse(null);
+    }
 
+    private static String doGetPreferedTranslation(String key, String language, Module module) {
 
-        String translation = getTranslation(key, language.toLowerCase(), module);
+        String translation = getTranslation(key, language, module);
         if (translation != null)
             return translation;
 
@@ -285,7 +349,7 @@ public class I18nUtil {
         if (i < 0)
             return null;
 
-        return getPreferedTranslation(key.substring(i + 1), language, module);
+        return doGetPreferedTranslation(key.substring(i + 1), language, module);
     }
 
     /**
@@ -336,21 +400,7 @@ public class I18nUtil {
         List<IProperty> properties = ApplicationManager.getApplication().runReadAction((Computable<List<IProperty>>) () ->
                 file.findPropertiesByKey(key));
 
-        Runnable runnable = () -> {
-            if (!properties.isEmpty()) {
-                try {
-                    for (IProperty prop : properties) {
-                        prop.setValue(escapedValue);
-                    }
-                } catch (Exception e) {
-                    LOG.error("Update property error", e);
-                }
-            } else {
-
-                // Create key
-                insertProperty(file, key, value);
-            }
-        };
+        Runnable runnable = () -> updateProperties(file, properties, key, value, escapedValue);
 
         ApplicationManager.getApplication().invokeLater(() -> {
             if (runAsWriteAction)
@@ -360,15 +410,52 @@ public class I18nUtil {
         });
     }
 
+    /**
+     * Update translations of many languages at once, into one single write command.
+     * Commands sharing the same group id are merged into one single undo.
+     * Must be called from EDT
+     *
+     * @param key     the key
+     * @param values  the values by properties file
+     * @param project the project
+     * @param groupId the command group id
+     */
+    public static void doUpdateTranslations(String key, @NotNull Map<PropertiesFile, String> values, @NotNull Project project, @Nullable Object groupId) {
+
+        if (values.isEmpty())
+            return;
+
+        executeWriteCommand(project, "Update key '" + key + "'", groupId, () -> {
+            for (Map.Entry<PropertiesFile, String> e : values.entrySet()) {
+                PropertiesFile file = e.getKey();
+                if (!file.getContainingFile().isValid())
+                    continue;
+                String value = e.getValue();
+                updateProperties(file, file.findPropertiesByKey(key), key, value, I18nUtil.unicodeEscape(value));
+            }
+        });
+    }
+
+    private static void updateProperties(PropertiesFile file, List<IProperty> properties, String key, String value, String escapedValue) {
+        if (!properties.isEmpty()) {
+            try {
+                for (IProperty prop : properties) {
+                    prop.setValue(escapedValue);
+                }
+            } catch (Exception e) {
+                LOG.error("Update property error", e);
+            }
+        } else {
+
+            // Create key
+            insertProperty(file, key, value);
+        }
+    }
+
     private static void insertProperty(PropertiesFile psiFile, String i18nKey, String value) {
 
         // find best position
-        IProperty best = null;
-        for (IProperty p : psiFile.getProperties()) {
-            if (p.getUnescapedKey().compareTo(i18nKey) > 0)
-                break;
-            best = p;
-        }
+        IProperty best = SortedPropertyKeys.getInstance(psiFile).findAnchor(i18nKey);
 
         // insert at postion
         if (best !=null) {
@@ -380,6 +467,42 @@ public class I18nUtil {
         }
     }
 
+    /**
+     * Insert many properties at their sorted position, in one pass.
+     * Must be called into a write action
+     *
+     * @param psiFile the properties file
+     * @param values  the values by key
+     */
+    public static void insertProperties(PropertiesFile psiFile, SortedMap<String, String> values) {
+
+        // find positions before any modification
+        SortedPropertyKeys sortedKeys = SortedPropertyKeys.getInstance(psiFile);
+        List<IProperty> anchors = new ArrayList<>(values.size());
+        for (String key : values.keySet()) {
+            anchors.add(sortedKeys.findAnchor(key));
+        }
+
+        // insert, keys sharing the same position are chained
+        int i = 0;
+        IProperty previousAnchor = null;
+        IProperty last = null;
+        for (Map.Entry<String, String> e : values.entrySet()) {
+
+            IProperty anchor = anchors.get(i++);
+            IProperty best = last != null && anchor == previousAnchor ? last : anchor;
+            previousAnchor = anchor;
+
+            if (best != null) {
+                IProperty p = PropertiesElementFactory.createProperty(psiFile.getProject(), e.getKey(), e.getValue(), null);
+                PsiElement added = psiFile.addPropertyAfter(p, best);
+                last = added instanceof IProperty ? (IProperty) added : null;
+            } else {
+                last = psiFile.addProperty(e.getKey(), e.getValue());
+            }
+        }
+    }
+
     /**
      * Gets psi properties files.
      *
@@ -411,12 +534,21 @@ public class I18nUtil {
     @Nullable
     public static String getLanguage(@NotNull PropertiesFile file) {
 
-        String name = file.getName();
-        int i = name.lastIndexOf('_');
-        if (i<0)
-            return null;
+        I18nLocale locale = getLocale(file);
+        return locale != null ? locale.getTag() : null;
+    }
 
-        return name.substring(i +1, name.length()-11);
+    /**
+     * Gets locale.
+     *
+     * @param file the file
+     * @return the locale
+     */
+    @Nullable
+    public static I18nLocale getLocale(@NotNull PropertiesFile file) {
+
+        VirtualFile vf = file.getVirtualFile();
+        return vf != null ? I18nLocale.of(vf) : I18nLocale.parse(file.getName());
     }
 
     /**
@@ -427,23 +559,7 @@ public class I18nUtil {
      * @return the psi properties file
      */
     public static PropertiesFile getPsiPropertiesFile(ResourceBundle resourceBundle, String language) {
-
-         for (PropertiesFile f : resourceBundle.getPropertiesFiles()) {
-
-            String name = f.getName();
-            int i = name.indexOf('_');
-            if (i < 0 || i == name.length() - 1)
-                continue;
-
-            if (name.endsWith(".properties"))
-                name = name.substring(0, name.length()-11);
-
-            String lang = name.substring(i + 1);
-            if (language.equals(lang))
-                return f;
-        }
-
-        return null;
+        return getLocales(resourceBundle).getFile(language);
     }
 
 
@@ -519,39 +635,104 @@ public class I18nUtil {
      * @return the resource bundles
      */
     public static List<ResourceBundle> getResourceBundles(@NotNull Module module) {
+        long start = I18nMetrics.start();
+        try {
+            return I18nBundleRegistry.getInstance(module.getProject()).getResourceBundles(module);
+        } finally {
+            I18nMetrics.stop("getResourceBundles", start);
+        }
+    }
+
+    /**
+     * Compute resource bundles, scanning all project properties files.
+     * Prefer {@link #getResourceBundles(Module)} which is cached.
+     *
+     * @param module the module
+     * @return the resource bundles
+     */
+    public static List<ResourceBundle> computeResourceBundles(@NotNull Module module) {
 
         Collection<VirtualFile> files = FileTypeIndex.getFiles(PropertiesFileType.INSTANCE, GlobalSearchScope.projectScope(module.getProject()));
 
-        Set<ResourceBundle> main = new HashSet<>();
-        Set<ResourceBundle> secondary = new HashSet<>();
+        Set<ResourceBundle> main = ConcurrentHashMap.newKeySet();
+        Set<ResourceBundle> secondary = ConcurrentHashMap.newKeySet();
+        collectResourceBundles(module, files, main, secondary);
 
-        for (VirtualFile vf : files) {
+        List<ResourceBundle> lrw = new ArrayList<>(main);
+        lrw.sort(Comparator.comparing(ResourceBundle::getBaseName));
 
-            PsiFile file = FileUtil.getFile(vf, module.getProject());
-            if (file instanceof PropertiesFile) {
+        List<ResourceBundle> lro = new ArrayList<>(secondary);
+        lro.sort(Comparator.comparing(ResourceBundle::getBaseName));
 
-                String name = file.getName();
-                if (!name.contains("_"))
-                    continue;
+        lrw.addAll(lro);
+        return lrw;
+    }
 
-                if (vf.getPath().contains("/target/"))
-                    continue;
+    /**
+     * Collect resource bundles of the given properties files
+     *
+     * @param module    the module
+     * @param files     the properties files
+     * @param main      the bundles of the module, must be thread safe
+     * @param secondary the bundles of dependencies, must be thread safe
+     */
+    public static void collectResourceBundles(@NotNull Module module, @NotNull Collection<VirtualFile> files,
+                                              @NotNull Set<ResourceBundle> main, @NotNull Set<ResourceBundle> secondary) {
+
+        // TIPS : files are resolved concurrently, under the caller read action
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(new ArrayList<>(files),
+                ProgressManager.getInstance().getProgressIndicator(), vf -> {
+
+            if (!vf.getName().contains("_"))
+                return true;
+
+            if (vf.getPath().contains("/target/"))
+                return true;
+
+            PsiFile file = FileUtil.getFile(vf, module.getProject());
+            if (file instanceof PropertiesFile) {
 
                 if (module.equals(JavaUtil.getModule(file)))
                     main.add(((PropertiesFile) file).getResourceBundle());
                 else
                     secondary.add(((PropertiesFile) file).getResourceBundle());
             }
-        }
+            return true;
+        });
+    }
 
-        List<ResourceBundle> lrw = new ArrayList<>(main);
-        lrw.sort(Comparator.comparing(ResourceBundle::getBaseName));
+    /**
+     * Gets properties files defining the key, using the key index.
+     * Files are ordered as per {@link #getResourceBundles(Module)} : module bundles first, then dependencies,
+     * and as per {@link ResourceBundle#getPropertiesFiles()} into each bundle
+     *
+     * @param i18nKey  the 18 n key
+     * @param language the language
+     * @param module   the module
+     * @return the properties files
+     */
+    @NotNull
+    public static List<PropertiesFile> getIndexedPropertiesFiles(@NotNull String i18nKey, @Nullable String language, @NotNull Module module) {
 
-        List<ResourceBundle> lro = new ArrayList<>(secondary);
-        lro.sort(Comparator.comparing(ResourceBundle::getBaseName));
+        Set<VirtualFile> files = new HashSet<>(I18nKeyIndex.getFiles(i18nKey, GlobalSearchScope.projectScope(module.getProject())));
+        if (files.isEmpty())
+            return Collections.emptyList();
 
-        lrw.addAll(lro);
-        return lrw;
+        // TIPS : index hits are kept only when their bundle is known, same as bundles scan
+        List<PropertiesFile> result = new ArrayList<>();
+        for (ResourceBundle bundle : getResourceBundles(module)) {
+            for (PropertiesFile pf : bundle.getPropertiesFiles()) {
+
+                if (!files.contains(pf.getVirtualFile()))
+                    continue;
+
+                if (language != null && !language.equals(getLanguage(pf)))
+                    continue;
+
+                result.add(pf);
+            }
+        }
+        return result;
     }
 
     /**
@@ -593,6 +774,8 @@ public class I18nUtil {
         List<PropertiesFile> psiFiles;
         if (propertiesFile != null) {
             psiFiles = List.of((PropertiesFile) propertiesFile.getContainingFile());
+        } else if (i18nKey != null && I18nKeyIndex.isAvailable(module.getProject())) {
+            psiFiles = getIndexedPropertiesFiles(i18nKey, language, module);
         } else {
             psiFiles = getPsiPropertiesFiles(language, module);
         }
@@ -796,7 +979,23 @@ public class I18nUtil {
             if (path == null)
                 return null;
         }
-        return path.substring(0, path.indexOf('_')).replaceAll("/", ".");
+        return getBundle(path);
+    }
+
+    /**
+     * Gets bundle.
+     *
+     * @param relativePath the properties file path, relative to resources root
+     * @return the bundle
+     */
+    public static String getBundle(String relativePath) {
+
+        int i = relativePath.lastIndexOf('/');
+        I18nLocale locale = I18nLocale.parse(relativePath.substring(i + 1));
+        if (locale == null)
+            return relativePath.substring(0, relativePath.indexOf('_')).replace('/', '.');
+
+        return (relativePath.substring(0, i + 1) + locale.getBaseName()).replace('/', '.');
     }
 
     /**
@@ -807,23 +1006,7 @@ public class I18nUtil {
      * @return the psi properties sibling file
      */
     public static PropertiesFile getPsiPropertiesSiblingFile(PropertiesFile selectedPropertiesFile, String siblingLanguage) {
-
-        for (PropertiesFile f : selectedPropertiesFile.getResourceBundle().getPropertiesFiles()) {
-
-            String name = f.getName();
-            int i = name.indexOf('_');
-            if (i < 0 || i == name.length() - 1)
-                continue;
-
-            if (name.endsWith(".properties"))
-                name = name.substring(0, name.length()-11);
-
-            String lang = name.substring(i + 1);
-            if (siblingLanguage.equals(lang))
-                return f;
-        }
-
-        return null;
+        return getLocales(selectedPropertiesFile.getResourceBundle()).getFile(siblingLanguage);
     }
 
     /**
@@ -836,25 +1019,85 @@ public class I18nUtil {
      * @return the best properties file
      */
     public static PropertiesFile getBestPropertiesFile(String i18nKey, Module module) {
+        long start = I18nMetrics.start();
+        try {
+            return doGetBestPropertiesFile(i18nKey, module);
+        } finally {
+            I18nMetrics.stop("getBestPropertiesFile", start);
+        }
+    }
 
-        // Searched into each bundles
-        PropertiesFile propertiesFile = null;
-        for (ResourceBundle bundle : getResourceBundles(module)) {
+    private static PropertiesFile doGetBestPropertiesFile(String i18nKey, Module module) {
 
-            for (PropertiesFile pf : bundle.getPropertiesFiles()) {
+        // Use index when available
+        if (I18nKeyIndex.isAvailable(module.getProject())) {
 
-                IProperty propertyByKey = pf.findPropertyByKey(i18nKey);
-                if (propertyByKey == null)
-                    continue;
+            // TIPS : same as bundles scan, first writable file wins, else last file found
+            PropertiesFile propertiesFile = null;
+            for (PropertiesFile pf : getIndexedPropertiesFiles(i18nKey, null, module)) {
 
                 if (pf.getVirtualFile().isWritable())
                     return pf;
 
                 propertiesFile = pf;
             }
+            return propertiesFile;
         }
 
-        return propertiesFile;
+        // Searched into each bundles
+        return findBestPropertiesFile(i18nKey, getResourceBundles(module));
+    }
+
+    /**
+     * Searches bundles concurrently.
+     * First writable file following bundles order wins, else last file found.
+     * Bundles after a writable hit are skipped.
+     */
+    @Nullable
+    static PropertiesFile findBestPropertiesFile(String i18nKey, List<ResourceBundle> bundles) {
+
+        int size = bundles.size();
+        AtomicInteger firstWritable = new AtomicInteger(size);
+        AtomicReferenceArray<PropertiesFile> writables = new AtomicReferenceArray<>(size);
+        AtomicReferenceArray<PropertiesFile> founds = new AtomicReferenceArray<>(size);
+
+        List<Integer> indexes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            indexes.add(i);
+
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(indexes,
+                ProgressManager.getInstance().getProgressIndicator(), i -> {
+
+            for (PropertiesFile pf : bundles.get(i).getPropertiesFiles()) {
+
+                // TIPS : a writable file was found into a previous bundle
+                if (i > firstWritable.get())
+                    return true;
+
+                IProperty propertyByKey = pf.findPropertyByKey(i18nKey);
+                if (propertyByKey == null)
+                    continue;
+
+                if (pf.getVirtualFile().isWritable()) {
+                    writables.set(i, pf);
+                    firstWritable.accumulateAndGet(i, Math::min);
+                    return true;
+                }
+
+                founds.set(i, pf);
+            }
+            return true;
+        });
+
+        int first = firstWritable.get();
+        if (first < size)
+            return writables.get(first);
+
+        for (int i = size - 1; i >= 0; i--) {
+            if (founds.get(i) != null)
+                return founds.get(i);
+        }
+        return null;
     }
 
     private static VirtualFile getI18nFolder(VirtualFile folder) {
@@ -912,8 +1155,9 @@ public class I18nUtil {
     }
 
     /**
-     * Google translate
+     * Google translate, through the project translation scheduler
      *
+     * @param project           the project
      * @param key               the key
      * @param targetLanguage    the target language
      * @param sourceLanguage    the source language
@@ -921,19 +1165,41 @@ public class I18nUtil {
      * @return the string
      * @throws IOException the io exception
      */
-    public static String googleTranslate(String key, String targetLanguage, String sourceLanguage, String sourceTranslation) throws IOException {
-
-        String translation = callUrlAndParseResult(sourceLanguage, targetLanguage, sourceTranslation);
-
-        // Tips : if google return the same as source, try using the key directly...
-        if (translation.equals(sourceTranslation)) {
+    public static String googleTranslate(Project project, String key, String targetLanguage, String sourceLanguage, String sourceTranslation) throws IOException {
+        return TranslationScheduler.await(googleTranslateAsync(project, key, targetLanguage, sourceLanguage, sourceTranslation));
+    }
 
-            String keyForTranslation = I18nUtil.prepareKeyForGoogleTranslation(key);
-            if (! sourceTranslation.equals(keyForTranslation)) {
+    /**
+     * Google translate, through the project translation scheduler, without waiting for the result
+     *
+     * @param project           the project
+     * @param key               the key
+     * @param targetLanguage    the target language
+     * @param sourceLanguage    the source language
+     * @param sourceTranslation the source translation
+     * @return the tuned translation, null if none
+     */
+    @NotNull
+    public static CompletableFuture<String> googleTranslateAsync(Project project, String key, String targetLanguage, String sourceLanguage, String sourceTranslation) {
+
+        long start = I18nMetrics.start();
+        return new BatchTranslator(project).translateAsync(sourceLanguage, Collections.singletonMap(key, sourceTranslation), targetLanguage)
+                .thenApply(translations -> translations.get(key))
+                .whenComplete((translation, e) -> {
+                    I18nMetrics.stop("googleTranslate", start);
+                    LOG.debug("Translation scheduler : " + TranslationScheduler.getInstance(project).getStats());
+                });
+    }
 
-                translation = callUrlAndParseResult(Locale.ENGLISH.getLanguage(), targetLanguage, keyForTranslation);
-            }
-        }
+    /**
+     * Tune translation according to source : capitalization, space before ending ponctuation
+     *
+     * @param sourceTranslation the source translation
+     * @param translation       the translation
+     * @return the tuned translation, null if translation is empty
+     */
+    @Nullable
+    public static String tuneTranslation(String sourceTranslation, @Nullable String translation) {
 
         // Update translation
         if (translation == null || translation.isEmpty())
@@ -941,7 +1207,7 @@ public class I18nUtil {
 
 
         // Tune lower or uppercase according to source
-        if (Character.isUpperCase(sourceTranslation.charAt(0)))
+        if (!sourceTranslation.isEmpty() && Character.isUpperCase(sourceTranslation.charAt(0)))
             translation = StringUtil.capitalize(translation);
 
         // TIPS : Keep space before ponctuation at end
@@ -956,64 +1222,29 @@ public class I18nUtil {
         return translation;
     }
 
-    private static String callUrlAndParseResult(String langFrom, String langTo, String word) throws IOException {
-
-        String url = "https://translate.googleapis.com/translate_a/single?" +
-                "client=gtx&" +
-                "sl=" + URLEncoder.encode(langFrom, "UTF-8") +
-                "&tl=" + URLEncoder.encode(langTo, "UTF-8") +
-                "&dt=t&q=" + URLEncoder.encode(word, "UTF-8");
-
-        URLConnection con = HttpConfigurable.getInstance().openConnection(url);
-
-        con.setRequestProperty("User-Agent", "Mozilla/5.0");
-
-        BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream()));
-        String inputLine;
-        StringBuffer response = new StringBuffer();
-
-        while ((inputLine = in.readLine()) != null) {
-            response.append(inputLine);
-        }
-        in.close();
-
-        return parseResult(response.toString());
+    /**
+     * Gets translation backend
+     *
+     * @return the translation backend
+     */
+    public static TranslationBackend getTranslationBackend() {
+        return TranslationBackendService.getInstance().getBackend();
     }
 
-    private static String parseResult(String inputJson) {
-
-        JsonElement elt = JsonParser.parseString(inputJson);
-        if (elt == null || ! elt.isJsonArray())
-            return null;
-
-        JsonArray jsonArray = elt.getAsJsonArray();
-        if (jsonArray.size()<1)
-            return null;
-
-        JsonElement elt2 = jsonArray.get(0);
-        if ( ! elt2.isJsonArray())
-            return null;
-
-        JsonArray jsonArray2 = elt2.getAsJsonArray();
-        if (jsonArray2.size()<1)
-            return null;
-
-        JsonElement elt3 = jsonArray2.get(0);
-        if ( ! elt3.isJsonArray())
-            return null;
-
-        JsonArray jsonArray3 = elt3.getAsJsonArray();
-        if (jsonArray3.size()<1)
-            return null;
-
-        JsonElement elt4 = jsonArray3.get(0);
-        if (! elt4.isJsonPrimitive())
-            return null;
-
-        return elt4.getAsString();
+    /**
+     * Sets translation backend, i.e. a local stand-in server
+     *
+     * @param translationBackend the translation backend
+     */
+    public static void setTranslationBackend(@NotNull TranslationBackend translationBackend) {
+        TranslationBackendService.getInstance().setBackend(translationBackend);
     }
 
     public static void executeWriteCommand(Project project, String text, Runnable runnable) {
+        executeWriteCommand(project, text, null, runnable);
+    }
+
+    public static void executeWriteCommand(Project project, String text, @Nullable Object groupId, Runnable runnable) {
 
         CommandProcessor.getInstance().executeCommand(project, () -> {
 
@@ -1023,7 +1254,7 @@ public class I18nUtil {
                         runnable.run();
                     });
                 },
-                text, "I18N+");
+                text, groupId != null ? groupId : "I18N+");
     }
 
 }
@@ -0,0 +1,256 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * PropertiesStreamParser
+ * Streaming parser of properties files, working on memory mapped files without PSI.
+ * Each property is pushed to the handler as soon as it is read : memory does not grow with file size.
+ * <p>
+ * Handles comments, <code>=</code> <code>:</code> or white space separators, continuation lines and
+ * <code>\t \n \r \f \\uXXXX</code> escapes : the reverse of {@link I18nUtil#unicodeEscape(String)}.
+ */
+public final class PropertiesStreamParser {
+
+    /**
+     * Property handler
+     */
+    public interface Handler {
+
+        /**
+         * @param key    the unescaped key
+         * @param value  the unescaped value
+         * @param offset the byte offset of the property into the file
+         */
+        void property(@NotNull String key, @NotNull String value, int offset);
+    }
+
+    private final ByteBuffer buffer;
+    private final boolean utf8;
+    private final StringBuilder key = new StringBuilder(64);
+    private final StringBuilder value = new StringBuilder(256);
+    private int pending = -1;
+    private int pendingOffset;
+
+    private PropertiesStreamParser(ByteBuffer buffer, boolean utf8) {
+        this.buffer = buffer;
+        this.utf8 = utf8;
+    }
+
+    /**
+     * Parse file
+     *
+     * @param file    the file
+     * @param charset the charset, ISO-8859-1 or UTF-8
+     * @param handler the handler
+     * @throws IOException the io exception
+     */
+    public static void parse(@NotNull Path file, @NotNull Charset charset, @NotNull Handler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("File too large : " + file);
+            if (size == 0)
+                return;
+            parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset, handler);
+        }
+    }
+
+    /**
+     * Parse buffer, from its position to its limit
+     *
+     * @param buffer  the buffer
+     * @param charset the charset, ISO-8859-1 or UTF-8
+     * @param handler the handler
+     */
+    public static void parse(@NotNull ByteBuffer buffer, @NotNull Charset charset, @NotNull Handler handler) {
+        boolean utf8 = StandardCharsets.UTF_8.equals(charset);
+        if (!utf8 && !StandardCharsets.ISO_8859_1.equals(charset))
+            throw new IllegalArgumentException("Unsupported charset : " + charset);
+        new PropertiesStreamParser(buffer, utf8).parse(handler);
+    }
+
+    private void parse(Handler handler) {
+
+        int c;
+        while ((c = peek()) != -1) {
+
+            // blank lines and indentation
+            if (isWhite(c) || c == '\n' || c == '\r') {
+                read();
+                continue;
+            }
+
+            // comments
+            if (c == '#' || c == '!') {
+                while ((c = peek()) != -1 && c != '\n' && c != '\r')
+                    read();
+                continue;
+            }
+
+            // TIPS : first char of the key was already decoded by peek
+            int offset = pendingOffset;
+            key.setLength(0);
+            value.setLength(0);
+
+            // key
+            readElement(key, true);
+
+            // separator
+            skipWhite();
+            c = peek();
+            if (c == '=' || c == ':') {
+                read();
+                skipWhite();
+            }
+
+            // value
+            readElement(value, false);
+
+            handler.property(key.toString(), value.toString(), offset);
+        }
+    }
+
+    private void readElement(StringBuilder sb, boolean isKey) {
+        int c;
+        while ((c = peek()) != -1) {
+
+            if (c == '\n' || c == '\r')
+                return;
+
+            if (isKey && (c == '=' || c == ':' || isWhite(c)))
+                return;
+
+            read();
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+
+            int n = read();
+            if (n == -1)
+                return;
+
+            if (n == '\n' || n == '\r') {
+                // continuation line
+                if (n == '\r' && peek() == '\n')
+                    read();
+                skipWhite();
+                continue;
+            }
+
+            switch (n) {
+                case 't': sb.append('\t'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u': readUnicode(sb); break;
+                default: sb.append((char) n);
+            }
+        }
+    }
+
+    private void readUnicode(StringBuilder sb) {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            int c = peek();
+            int digit = c == -1 ? -1 : Character.digit(c, 16);
+            if (digit < 0) {
+                // malformed, keep it as is
+                sb.append('u');
+                if (i > 0)
+                    sb.append(String.format("%0" + i + "x", code));
+                return;
+            }
+            read();
+            code = (code << 4) | digit;
+        }
+        sb.append((char) code);
+    }
+
+    private void skipWhite() {
+        while (isWhite(peek()))
+            read();
+    }
+
+    private static boolean isWhite(int c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+
+    private int peek() {
+        if (pending != -1)
+            return pending;
+        pendingOffset = buffer.position();
+        pending = decode();
+        return pending;
+    }
+
+    private int read() {
+        int c = peek();
+        pending = -1;
+        return c;
+    }
+
+    private int lowSurrogate = -1;
+
+    private int decode() {
+
+        if (lowSurrogate != -1) {
+            int c = lowSurrogate;
+            lowSurrogate = -1;
+            return c;
+        }
+
+        if (!buffer.hasRemaining())
+            return -1;
+
+        int b = buffer.get() & 0xFF;
+        if (!utf8 || b < 0x80)
+            return b;
+
+        int extra;
+        int code;
+        if ((b & 0xE0) == 0xC0) { extra = 1; code = b & 0x1F; }
+        else if ((b & 0xF0) == 0xE0) { extra = 2; code = b & 0x0F; }
+        else if ((b & 0xF8) == 0xF0) { extra = 3; code = b & 0x07; }
+        else return 0xFFFD;
+
+        for (int i = 0; i < extra; i++) {
+            if (!buffer.hasRemaining())
+                return 0xFFFD;
+            int next = buffer.get(buffer.position()) & 0xFF;
+            if ((next & 0xC0) != 0x80)
+                return 0xFFFD;
+            buffer.get();
+            code = (code << 6) | (next & 0x3F);
+        }
+
+        if (code >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            lowSurrogate = Character.lowSurrogate(code);
+            return Character.highSurrogate(code);
+        }
+        return code;
+    }
+}
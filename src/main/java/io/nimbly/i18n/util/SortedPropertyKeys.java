@@ -0,0 +1,96 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * SortedPropertyKeys
+ * Keys of a properties file, to find where a new key should be inserted in logarithmic time.
+ * Cached per file and dropped on any file modification.
+ * <p>
+ * TIPS : insertion point is after the last property preceding the first greater key. Keys running maximum
+ * is monotonic even if file is not sorted, so binary search over it gives the same answer as a linear walk
+ */
+public class SortedPropertyKeys {
+
+    private final IProperty[] properties;
+    private final String[] maxKeys;
+
+    /**
+     * Gets sorted keys of the file
+     *
+     * @param propertiesFile the properties file
+     * @return the sorted keys
+     */
+    @NotNull
+    public static SortedPropertyKeys getInstance(@NotNull PropertiesFile propertiesFile) {
+        PsiFile file = propertiesFile.getContainingFile();
+        return CachedValuesManager.getCachedValue(file, () ->
+                CachedValueProvider.Result.create(new SortedPropertyKeys(propertiesFile), file));
+    }
+
+    private SortedPropertyKeys(PropertiesFile propertiesFile) {
+        this(propertiesFile.getProperties());
+    }
+
+    SortedPropertyKeys(List<IProperty> list) {
+        properties = list.toArray(new IProperty[0]);
+        maxKeys = new String[properties.length];
+
+        String max = null;
+        for (int i = 0; i < properties.length; i++) {
+            String key = properties[i].getUnescapedKey();
+            if (key != null && (max == null || key.compareTo(max) > 0))
+                max = key;
+            maxKeys[i] = max;
+        }
+    }
+
+    /**
+     * Find the property after which the key should be inserted
+     *
+     * @param key the key
+     * @return the anchor, null if key should be inserted first
+     */
+    @Nullable
+    public IProperty findAnchor(@NotNull String key) {
+
+        // first index having a greater key
+        int low = 0;
+        int high = maxKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxKeys[mid] != null && maxKeys[mid].compareTo(key) > 0)
+                high = mid;
+            else
+                low = mid + 1;
+        }
+
+        return low > 0 ? properties[low - 1] : null;
+    }
+
+    public int size() {
+        return properties.length;
+    }
+}
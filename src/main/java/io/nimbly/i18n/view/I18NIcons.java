@@ -16,6 +16,7 @@ package io.nimbly.i18n.view;
 
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.util.IconLoader;
+import io.nimbly.i18n.util.I18nLocale;
 import io.nimbly.i18n.util.LoggerFactory;
 
 import javax.swing.*;
@@ -46,12 +47,34 @@ public interface I18NIcons {
 
     Map<String, Icon> FLAGS = new HashMap<>();
 
-    static Icon getFlag(String country) {
+    /**
+     * Gets flag of a language tag, i.e. 'zh_Hans_CN' then 'zh-hans' then 'zh'
+     */
+    static Icon getLanguageFlag(String tag) {
 
-        Icon icon = FLAGS.get(country);
-        if (icon !=null)
+        Icon icon = getFlag(tag);
+        if (icon != null)
             return icon;
 
+        I18nLocale locale = I18nLocale.parseTag(tag);
+        if (locale == null)
+            return null;
+
+        if (locale.getScript() != null) {
+            icon = getFlag(locale.getLanguage() + "-" + locale.getScript().toLowerCase());
+            if (icon != null)
+                return icon;
+        }
+
+        return getFlag(locale.getLanguage());
+    }
+
+    static Icon getFlag(String country) {
+
+        if (FLAGS.containsKey(country))
+            return FLAGS.get(country);
+
+        Icon icon = null;
         String path = "/io/nimbly/i18n/icons/languages/" + country + ".png";
         try {
             icon = IconLoader.findIcon(path);  // do not use 'getIcon' which logs an error exception !
@@ -0,0 +1,162 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.view;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import io.nimbly.i18n.translate.TranslationMemory;
+import io.nimbly.i18n.translate.TranslationScheduler;
+import io.nimbly.i18n.util.I18nMetrics;
+import io.nimbly.i18n.util.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * I18nMetricsView
+ * Diagnostics tab : hot paths latencies, cache hit ratios and translation scheduler statistics.
+ * Refreshed every second while shown, metrics can be exported as json.
+ */
+public class I18nMetricsView extends JPanel {
+
+    private static final Logger LOG = LoggerFactory.getInstance(I18nMetricsView.class);
+    private static final int REFRESH_DELAY = 1000;
+
+    private final Project project;
+    private final DefaultTableModel timers = new MyTableModel("Timer", "Count", "Avg ms", "p50 ms", "p95 ms", "Max ms");
+    private final DefaultTableModel caches = new MyTableModel("Cache", "Hits", "Misses", "Hit ratio");
+    private final JLabel scheduler = new JLabel();
+    private final Timer refresh = new Timer(REFRESH_DELAY, e -> refresh());
+
+    public I18nMetricsView(Project project) {
+        this.project = project;
+
+        setLayout(new BorderLayout());
+        setBorder(JBUI.Borders.empty(5));
+
+        //---- buttons ----
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        JButton copy = new JButton("Copy JSON");
+        copy.addActionListener(e -> CopyPasteManager.getInstance().setContents(new StringSelection(I18nMetrics.toJson(project))));
+        buttons.add(copy);
+
+        JButton export = new JButton("Export JSON...");
+        export.addActionListener(e -> export());
+        buttons.add(export);
+
+        JButton reset = new JButton("Reset");
+        reset.addActionListener(e -> {
+            I18nMetrics.reset();
+            refresh();
+        });
+        buttons.add(reset);
+
+        //---- tables ----
+        JPanel tables = new JPanel(new GridLayout(2, 1, 0, 5));
+        tables.add(ScrollPaneFactory.createScrollPane(new JBTable(timers)));
+        tables.add(ScrollPaneFactory.createScrollPane(new JBTable(caches)));
+
+        add(buttons, BorderLayout.NORTH);
+        add(tables, BorderLayout.CENTER);
+        add(scheduler, BorderLayout.SOUTH);
+
+        refresh();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresh.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refresh.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+
+        timers.setRowCount(0);
+        for (I18nMetrics.Timer t : I18nMetrics.getTimers()) {
+            timers.addRow(new Object[] { t.getName(), t.getCount(),
+                    format(t.getAverage()), format(t.getPercentile(0.50)), format(t.getPercentile(0.95)), format(t.getMax()) });
+        }
+
+        caches.setRowCount(0);
+        for (I18nMetrics.Ratio r : I18nMetrics.getRatios()) {
+            caches.addRow(new Object[] { r.getName(), r.getHits(), r.getMisses(), percent(r.getHitRatio()) });
+        }
+        TranslationMemory memory = TranslationMemory.getInstance();
+        long total = memory.getHits() + memory.getMisses();
+        caches.addRow(new Object[] { "translationMemory", memory.getHits(), memory.getMisses(),
+                percent(total > 0 ? (double) memory.getHits() / total : 0) });
+
+        scheduler.setText("Translations : " + TranslationScheduler.getInstance(project).getStats());
+    }
+
+    private void export() {
+
+        VirtualFileWrapper wrapper = FileChooserFactory.getInstance()
+                .createSaveFileDialog(new FileSaverDescriptor("Export I18N Metrics", "Save metrics snapshot", "json"), project)
+                .save((VirtualFile) null, "i18n-metrics.json");
+        if (wrapper == null)
+            return;
+
+        try {
+            Files.write(wrapper.getFile().toPath(), I18nMetrics.toJson(project).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Metrics export error", e);
+            Messages.showErrorDialog(project, "Cannot write " + wrapper.getFile(), TranslationSnapView.NIMBLY);
+        }
+    }
+
+    private static String format(double ms) {
+        return String.format("%.2f", ms);
+    }
+
+    private static String percent(double ratio) {
+        return String.format("%.1f %%", ratio * 100);
+    }
+
+    /*******************************************
+     *  MyTableModel
+     */
+    private static class MyTableModel extends DefaultTableModel {
+
+        MyTableModel(String... columns) {
+            super(columns, 0);
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    }
+}
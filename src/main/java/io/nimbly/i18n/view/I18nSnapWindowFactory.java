@@ -38,6 +38,10 @@ public class I18nSnapWindowFactory implements ToolWindowFactory {
         // Translation
         Content content = contentFactory.createContent(new TranslationSnapView(project), "Translation", false);
         toolWindow.getContentManager().addContent(content);
+
+        // Diagnostics
+        Content diagnostics = contentFactory.createContent(new I18nMetricsView(project), "Diagnostics", false);
+        toolWindow.getContentManager().addContent(diagnostics);
     }
 
 }
@@ -0,0 +1,154 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.view;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import io.nimbly.i18n.translate.MissingTranslator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MissingTranslationsDialog
+ * Preview of the missing translations : nothing is written until applied.
+ * Translations can be unchecked or edited before.
+ */
+public class MissingTranslationsDialog extends DialogWrapper {
+
+    private static final int APPLY = 0;
+    private static final int KEY = 1;
+    private static final int LANGUAGE = 2;
+    private static final int SOURCE = 3;
+    private static final int TRANSLATION = 4;
+    private static final String[] COLUMNS = { "", "Key", "Language", "Source", "Translation" };
+
+    private final List<MissingTranslator.Entry> entries;
+    private final boolean[] selected;
+    private final JBTable table;
+
+    public MissingTranslationsDialog(@NotNull Project project, @NotNull String bundleName, @NotNull List<MissingTranslator.Entry> entries) {
+        super(project, true);
+        this.entries = entries;
+        this.selected = new boolean[entries.size()];
+        for (int i = 0; i < entries.size(); i++)
+            selected[i] = entries.get(i).getTranslation() != null;
+
+        this.table = new JBTable(new MyTableModel());
+        table.getColumnModel().getColumn(APPLY).setMaxWidth(JBUI.scale(30));
+
+        setTitle("Translate Missing Keys of '" + bundleName + "'");
+        setOKButtonText("Apply");
+        init();
+    }
+
+    @Nullable
+    @Override
+    protected JComponent createCenterPanel() {
+
+        int translated = 0;
+        for (MissingTranslator.Entry e : entries) {
+            if (e.getTranslation() != null)
+                translated++;
+        }
+
+        JPanel panel = new JPanel(new BorderLayout(0, 5));
+        panel.add(new JLabel(translated + " translations found for " + entries.size() + " missing. Nothing is written until applied."), BorderLayout.NORTH);
+        JScrollPane scroll = ScrollPaneFactory.createScrollPane(table);
+        scroll.setPreferredSize(JBUI.size(800, 400));
+        panel.add(scroll, BorderLayout.CENTER);
+        return panel;
+    }
+
+    /**
+     * Gets entries checked and translated
+     */
+    @NotNull
+    public List<MissingTranslator.Entry> getSelectedEntries() {
+        if (table.isEditing())
+            table.getCellEditor().stopCellEditing();
+
+        List<MissingTranslator.Entry> list = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (selected[i] && entries.get(i).getTranslation() != null)
+                list.add(entries.get(i));
+        }
+        return list;
+    }
+
+    /*******************************************
+     *  MyTableModel
+     */
+    private class MyTableModel extends AbstractTableModel {
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == APPLY ? Boolean.class : String.class;
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return column == APPLY || column == TRANSLATION;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            MissingTranslator.Entry e = entries.get(row);
+            switch (column) {
+                case APPLY: return selected[row];
+                case KEY: return e.getKey();
+                case LANGUAGE: return e.getLanguage();
+                case SOURCE: return e.getSource();
+                default: return e.getTranslation();
+            }
+        }
+
+        @Override
+        public void setValueAt(Object value, int row, int column) {
+            if (column == APPLY) {
+                selected[row] = Boolean.TRUE.equals(value);
+            }
+            else if (column == TRANSLATION) {
+                String translation = (String) value;
+                entries.get(row).setTranslation(translation == null || translation.isEmpty() ? null : translation);
+                selected[row] = translation != null && !translation.isEmpty();
+                fireTableCellUpdated(row, APPLY);
+            }
+        }
+    }
+}
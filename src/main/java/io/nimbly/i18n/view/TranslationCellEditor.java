@@ -0,0 +1,106 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.view;
+
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.components.JBTextArea;
+import com.intellij.util.ui.JBUI;
+
+import javax.swing.*;
+import javax.swing.table.TableCellEditor;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseEvent;
+import java.util.EventObject;
+
+/**
+ * TranslationCellEditor
+ * Multi-line editor of the virtualized translation list : Enter adds a line, as into the translation rows.
+ * The row grows to show the lines while editing. Ctrl+Enter or focus lost applies, Escape cancels.
+ */
+public class TranslationCellEditor extends AbstractCellEditor implements TableCellEditor {
+
+    private static final int MAX_LINES = 8;
+
+    private final JBTextArea textArea = new JBTextArea();
+    private final JBScrollPane scroll = new JBScrollPane(textArea);
+
+    private JTable table;
+    private int row = -1;
+
+    public TranslationCellEditor() {
+        scroll.setBorder(JBUI.Borders.empty());
+        textArea.getInputMap().put(KeyStroke.getKeyStroke("ctrl ENTER"), "i18n.stopEditing");
+        textArea.getActionMap().put("i18n.stopEditing", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                stopCellEditing();
+            }
+        });
+        textArea.getInputMap().put(KeyStroke.getKeyStroke("ESCAPE"), "i18n.cancelEditing");
+        textArea.getActionMap().put("i18n.cancelEditing", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                cancelCellEditing();
+            }
+        });
+    }
+
+    @Override
+    public Component getTableCellEditorComponent(JTable table, Object value, boolean isSelected, int row, int column) {
+
+        this.table = table;
+        this.row = row;
+        textArea.setText(value != null ? value.toString() : "");
+        textArea.setFont(table.getFont());
+
+        // TIPS : one more line, so that a new line can be typed without scrolling
+        int lines = Math.min(textArea.getLineCount() + 1, MAX_LINES);
+        int height = lines * textArea.getFontMetrics(textArea.getFont()).getHeight() + JBUI.scale(6);
+        if (height > table.getRowHeight())
+            table.setRowHeight(row, height);
+
+        return scroll;
+    }
+
+    @Override
+    public Object getCellEditorValue() {
+        return textArea.getText();
+    }
+
+    @Override
+    public boolean isCellEditable(EventObject e) {
+        // same as default editor : double click to edit
+        return !(e instanceof MouseEvent) || ((MouseEvent) e).getClickCount() >= 2;
+    }
+
+    @Override
+    public boolean stopCellEditing() {
+        restoreRowHeight();
+        return super.stopCellEditing();
+    }
+
+    @Override
+    public void cancelCellEditing() {
+        restoreRowHeight();
+        super.cancelCellEditing();
+    }
+
+    private void restoreRowHeight() {
+        if (table != null && row >= 0 && row < table.getRowCount())
+            table.setRowHeight(row, table.getRowHeight());
+        row = -1;
+    }
+}
@@ -19,15 +19,24 @@ import com.intellij.lang.properties.ResourceBundle;
 import com.intellij.lang.properties.psi.PropertiesFile;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import io.nimbly.i18n.index.I18nKeyIndex;
+import io.nimbly.i18n.util.I18nLocale;
 import io.nimbly.i18n.util.I18nUtil;
 import io.nimbly.i18n.util.JavaUtil;
 import io.nimbly.i18n.util.LoggerFactory;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /**
  * TranslationModel
@@ -47,6 +56,7 @@ public class TranslationModel {
     private PropertiesFile selectedPropertiesFile;
     private boolean viewRefreshBlocked;
     private final PsiFile originFile;
+    private Translations translations;
 
     public TranslationModel(String keyPath, PsiFile originFile, PropertiesFile selectedPropertiesFile, Module module) {
 
@@ -86,6 +96,16 @@ public class TranslationModel {
         return keyPath;
     }
 
+    /**
+     * Gets properties files of the selected language, with their short name
+     */
+    public Map<PropertiesFile, String> getResources() {
+        Map<PropertiesFile, String> resources = new LinkedHashMap<>();
+        for (PropertiesFile pf : getPropertiesFiles())
+            resources.put(pf, getShortName(pf));
+        return resources;
+    }
+
     public List<PropertiesFile> getPropertiesFiles() {
 
         List<PropertiesFile> files = I18nUtil.getPsiPropertiesFiles(selectedLanguage, module);
@@ -111,6 +131,23 @@ public class TranslationModel {
         I18nUtil.doUpdateTranslation(selectedKey, translation, targetFile, true);
     }
 
+    /**
+     * Gets target properties files of translations
+     *
+     * @param translations the translations by language
+     * @return the translations by properties file
+     */
+    public Map<PropertiesFile, String> getTargetFiles(Map<String, String> translations) {
+
+        Map<PropertiesFile, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : translations.entrySet()) {
+            PropertiesFile targetFile = I18nUtil.getPsiPropertiesSiblingFile(getSelectedPropertiesFile(), e.getKey());
+            if (targetFile != null)
+                values.put(targetFile, e.getValue());
+        }
+        return values;
+    }
+
     public List<String> getLanguages() {
 
         LOG.trace("getLanguages for key '" + keyPath + "'");
@@ -146,6 +183,17 @@ public class TranslationModel {
     }
 
     public boolean hasAtLeastOneTranslation() {
+        if (selectedKey != null && selectedPropertiesFile != null && I18nKeyIndex.isAvailable(module.getProject())) {
+            List<PropertiesFile> files = selectedPropertiesFile.getResourceBundle().getPropertiesFiles();
+            for (VirtualFile vf : I18nKeyIndex.getFiles(selectedKey, GlobalSearchScope.projectScope(module.getProject()))) {
+                for (PropertiesFile pf : files) {
+                    if (vf.equals(pf.getVirtualFile()))
+                        return true;
+                }
+            }
+            return false;
+        }
+
         for (String lang : getLanguages()) {
             if (! getPsiProperties(lang).isEmpty())
                 return true;
@@ -297,9 +345,11 @@ public class TranslationModel {
         }
 
         String source = propertiesFile.getVirtualFile().getPath();
-        int i = source.lastIndexOf("_");
-        int j = source.indexOf(".", i + 1);
-        source = source.substring(0, i + 1) + langOrStar + source.substring(j);
+        I18nLocale locale = I18nUtil.getLocale(propertiesFile);
+        if (locale != null) {
+            int i = source.lastIndexOf('/');
+            source = source.substring(0, i + 1) + locale.getBaseName() + "_" + langOrStar + ".properties";
+        }
 
         int idx = source.indexOf("!/");
         if (idx <0) {
@@ -314,8 +364,8 @@ public class TranslationModel {
 
     public String getShortName(PropertiesFile propertiesFile) {
 
-        String name = propertiesFile.getVirtualFile().getName();
-        name = name.substring(0, name.indexOf('_'));
+        I18nLocale locale = I18nUtil.getLocale(propertiesFile);
+        String name = locale != null ? locale.getBaseName() : propertiesFile.getVirtualFile().getNameWithoutExtension();
 
         String source = propertiesFile.getVirtualFile().getPath();
         int idx = source.indexOf("!/");
@@ -339,4 +389,139 @@ public class TranslationModel {
     public boolean isViewRefreshBlocked() {
         return viewRefreshBlocked;
     }
+
+    /**
+     * Load translations of the selected key, and the bundle files, so that the view
+     * is updated without any psi access. Must be called into a read action
+     */
+    public void loadTranslations() {
+
+        List<String> languages = getLanguages();
+        Map<String, String> values = new HashMap<>();
+        boolean writable = false;
+        for (String language : languages) {
+
+            List<IProperty> properties = getPsiProperties(language);
+            if (properties.isEmpty())
+                continue;
+
+            IProperty p = properties.get(0);
+            values.put(language, I18nUtil.unescapeKeepCR(p.getValue()));
+            writable |= p.getPropertiesFile().getContainingFile().isWritable();
+        }
+
+        List<VirtualFile> files = new ArrayList<>();
+        if (selectedPropertiesFile != null) {
+            for (PropertiesFile pf : selectedPropertiesFile.getResourceBundle().getPropertiesFiles()) {
+                if (pf.getVirtualFile() != null)
+                    files.add(pf.getVirtualFile());
+            }
+        }
+
+        String localTooltip = null;
+        try {
+            localTooltip = getTooltip("*", I18nUtil.getLocalPsiPropertiesFiles(module).get(0), module);
+        } catch (Exception ignored) {
+        }
+
+        boolean selectedWritable = selectedPropertiesFile != null && selectedPropertiesFile.getContainingFile().isWritable();
+        translations = new Translations(selectedKey, languages, values, writable, selectedWritable, files, getResources(),
+                getSelectedBundleTooltip(), localTooltip, getSelectedPropertiesFileTooltip());
+    }
+
+    /**
+     * Gets translations loaded for the selected key, once : next calls return null
+     *
+     * @return the translations or null if not loaded or if selected key changed since
+     */
+    @Nullable
+    public Translations takeTranslations() {
+        Translations t = translations;
+        translations = null;
+        return t != null && t.key.equals(selectedKey) ? t : null;
+    }
+
+    /*******************************************
+     *  Translations
+     */
+    public static class Translations {
+
+        private final String key;
+        private final List<String> languages;
+        private final Map<String, String> values;
+        private final boolean writable;
+        private final boolean selectedFileWritable;
+        private final List<VirtualFile> files;
+        private final Map<PropertiesFile, String> resources;
+        private final String bundleTooltip;
+        private final String localBundleTooltip;
+        private final String propertiesFileTooltip;
+
+        Translations(String key, List<String> languages, Map<String, String> values, boolean writable, boolean selectedFileWritable,
+                     List<VirtualFile> files, Map<PropertiesFile, String> resources,
+                     String bundleTooltip, String localBundleTooltip, String propertiesFileTooltip) {
+            this.key = key;
+            this.languages = languages;
+            this.values = values;
+            this.writable = writable;
+            this.selectedFileWritable = selectedFileWritable;
+            this.files = files;
+            this.resources = resources;
+            this.bundleTooltip = bundleTooltip;
+            this.localBundleTooltip = localBundleTooltip;
+            this.propertiesFileTooltip = propertiesFileTooltip;
+        }
+
+        public List<String> getLanguages() {
+            return languages;
+        }
+
+        /**
+         * Gets translation of the language, null if key is missing
+         */
+        @Nullable
+        public String getTranslation(String language) {
+            return values.get(language);
+        }
+
+        public boolean hasTranslation() {
+            return !values.isEmpty();
+        }
+
+        /**
+         * Some file defining the key is writable
+         */
+        public boolean isWritable() {
+            return writable;
+        }
+
+        public boolean isSelectedFileWritable() {
+            return selectedFileWritable;
+        }
+
+        /**
+         * Gets files of the bundle
+         */
+        public List<VirtualFile> getFiles() {
+            return files;
+        }
+
+        /**
+         * Gets properties files of the selected language, with their short name
+         */
+        public Map<PropertiesFile, String> getResources() {
+            return resources;
+        }
+
+        /**
+         * Gets tooltip of the selected bundle, or of the first local bundle if not writable
+         */
+        public String getBundleTooltip(boolean writable) {
+            return writable ? bundleTooltip : localBundleTooltip;
+        }
+
+        public String getPropertiesFileTooltip() {
+            return propertiesFileTooltip;
+        }
+    }
 }
@@ -19,15 +19,16 @@ import com.intellij.lang.properties.IProperty;
 import com.intellij.lang.properties.ResourceBundle;
 import com.intellij.lang.properties.psi.PropertiesFile;
 import com.intellij.lang.properties.psi.Property;
-import com.intellij.lang.properties.psi.impl.PropertyKeyImpl;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.event.CaretEvent;
 import com.intellij.openapi.editor.event.DocumentEvent;
-import com.intellij.openapi.editor.event.DocumentListener;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
@@ -36,7 +37,9 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.ComboBox;
 import com.intellij.openapi.ui.Messages;
 import com.intellij.openapi.util.Computable;
-import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.pom.Navigatable;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.resolve.reference.impl.PsiMultiReference;
@@ -44,13 +47,18 @@ import com.intellij.psi.impl.source.tree.TreeElement;
 import com.intellij.ui.ScrollPaneFactory;
 import com.intellij.ui.components.ActionLink;
 import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
 import com.intellij.uiDesigner.core.GridConstraints;
 import com.intellij.uiDesigner.core.GridLayoutManager;
+import com.intellij.util.Alarm;
 import com.intellij.util.SlowOperations;
 import com.intellij.util.ThrowableRunnable;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.ui.JBUI;
+import io.nimbly.i18n.index.I18nKeyWatcher;
 import io.nimbly.i18n.util.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import javax.swing.border.EtchedBorder;
@@ -78,23 +86,43 @@ public class TranslationSnapView extends AbstractSnapView {
     public static final String CREATE_KEY = "Create key";
     public static final String BLOCK_REFRESH = "BLOCK_REFRESH";
 
+    private static final int CARET_DELAY = 150;
+    private static final int EDITS_DELAY = 500;
+    private static final int VIRTUAL_THRESHOLD = 20;
+
     private final ActionToolbar editActionToolBar;
 
     private JPanel translationWindow;
     private JTextField key;
 
-    private ActionLink[] flags;
-    private JTextComponent[] translations;
-    private ActionLink[] languages;
+    private JPanel translationPanel;
+    private JPanel translationRows;
+    private JScrollPane translationScroll;
+    private JBTable translationTable;
+    private TranslationTableModel translationTableModel;
+    private boolean translationsEditable;
+    private ActionLink[] flags = new ActionLink[0];
+    private JTextComponent[] translations = new JTextComponent[0];
+    private JComponent[] scrollers = new JComponent[0];
+    private ActionLink[] languages = new ActionLink[0];
+    private String[] rowLanguages = new String[0];
 
     private ComboBox<MyPropertiesFileInfo> resourcesGroup;
     private JButton duplicateButton;
     private JButton deleteOrCreateKeyButton;
 
-    private MyTranslationPaneAdapter[] translationsPaneAdaptors = null;
-    private Map<Document, MyPropertiesFileAdapter> propertiesFileAdaptors = new HashMap<>();
+    private MyTranslationPaneAdapter[] translationsPaneAdaptors = new MyTranslationPaneAdapter[0];
+    private final Disposable keyWatch;
+
+    private volatile TranslationModel model = null;
+    private final Alarm caretAlarm;
 
-    private TranslationModel model = null;
+    private final Alarm editsAlarm;
+    private final Map<String, String> pendingEdits = new LinkedHashMap<>();
+    private TranslationModel editsModel = null;
+    private String editsKey = null;
+    private Object editsGroupId = null;
+    private final Set<Pair<String, String>> writingEdits = new HashSet<>();
 
     private ToggleAction editAction;
     private Project project;
@@ -106,6 +134,10 @@ public class TranslationSnapView extends AbstractSnapView {
     public TranslationSnapView(Project project) {
 
         this.project = project;
+        this.caretAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, project);
+        this.editsAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, project);
+        this.keyWatch = Disposer.newDisposable("I18n key watch");
+        Disposer.register(project, keyWatch);
 
         // init UI
         setLayout(new GridLayoutManager(2, 1));
@@ -179,7 +211,7 @@ public class TranslationSnapView extends AbstractSnapView {
         editActionToolBar.setTargetComponent(this);
 
 
-        initComponents(Collections.emptyList());
+        initComponents();
 
         // find potential string literal to load
         for (Editor editor : FileUtil.getEditors()) {
@@ -215,7 +247,7 @@ public class TranslationSnapView extends AbstractSnapView {
 
         Module module = model.getModule();
 
-        boolean editable = translations[0].isEditable();
+        boolean editable = translationsEditable;
 
         String newKey = model.duplicateKey();
 
@@ -260,23 +292,10 @@ public class TranslationSnapView extends AbstractSnapView {
             return;
         }
 
-        ApplicationManager.getApplication().runReadAction(() -> {
-            try {
-                SlowOperations.allowSlowOperations((ThrowableRunnable<Throwable>) () ->
-                        initTranslation(event.getEditor()));
-            } catch (Throwable e) {
-                LOG.error("Translation init error", e);
-            }
-        });
-
-//        DumbService.getInstance(Objects.requireNonNull(event.getEditor().getProject())).runReadActionInSmartMode(() -> {
-//            try {
-//                SlowOperations.allowSlowOperations((ThrowableRunnable<Throwable>) () ->
-//                        initTranslation(event.getEditor()));
-//            } catch (Throwable e) {
-//                LOG.error("Translation init error", e);
-//            }
-//        });
+        // TIPS : coalesce caret bursts, only the last position is resolved
+        Editor editor = event.getEditor();
+        caretAlarm.cancelAllRequests();
+        caretAlarm.addRequest(() -> initTranslation(editor), CARET_DELAY);
     }
 
     /**
@@ -284,26 +303,47 @@ public class TranslationSnapView extends AbstractSnapView {
      */
     private void initTranslationKey(final String fullI18nKey, boolean force, PsiFile originFile, final Module module) {
 
+        long start = I18nMetrics.start();
+        try {
+            TranslationModel newModel = createModel(fullI18nKey, force, originFile, module);
+            if (newModel == null)
+                return;
+
+            model = newModel;
+            loadTranslation(fullI18nKey, null);
+        } finally {
+            I18nMetrics.stop("initTranslationKey", start);
+        }
+    }
+
+    /**
+     * Create translation model
+     * Does not touch swing components, so could be called from a background read action
+     */
+    @Nullable
+    private TranslationModel createModel(final String fullI18nKey, boolean force, PsiFile originFile, final Module module) {
+
         LOG.debug("initTranslation for key '" + fullI18nKey + "'");
         if (module == null) {
             LOG.trace("initTranslation for key '" + fullI18nKey + "' : no module found - STOP");
-            return;
+            return null;
         }
-        
-        if (!force && model != null && model.getKeyPath().equals(fullI18nKey)) {
+
+        TranslationModel currentModel = model;
+        if (!force && currentModel != null && currentModel.getKeyPath().equals(fullI18nKey)) {
             LOG.trace("initTranslation for key '" + fullI18nKey + "' : same key already selected - STOP");
-            return;
+            return null;
         }
 
-        PropertiesFile currentFile = model != null ? model.getSelectedPropertiesFile() : null;
-        model = new TranslationModel(fullI18nKey, originFile, null, module);
-        if (model.getSelectedPropertiesFile() == null) {
+        PropertiesFile currentFile = currentModel != null ? currentModel.getSelectedPropertiesFile() : null;
+        TranslationModel newModel = new TranslationModel(fullI18nKey, originFile, null, module);
+        if (newModel.getSelectedPropertiesFile() == null) {
 
             if (originFile instanceof PropertiesFile) {
-                model.selectPropertiesFile((PropertiesFile) originFile);
+                newModel.selectPropertiesFile((PropertiesFile) originFile);
             }
             else if (currentFile != null) {
-                model.selectPropertiesFile(currentFile);
+                newModel.selectPropertiesFile(currentFile);
             }
             else {
 
@@ -312,9 +352,10 @@ public class TranslationSnapView extends AbstractSnapView {
 
                     for (PropertiesFile pf : bundles.get(0).getPropertiesFiles()) {
 
+                        ProgressManager.checkCanceled();
                         if (pf.getVirtualFile().isWritable() && "en".equals(I18nUtil.getLanguage(pf))) {
 
-                            model.selectPropertiesFile(pf);
+                            newModel.selectPropertiesFile(pf);
                             break;
                         }
                     }
@@ -322,16 +363,36 @@ public class TranslationSnapView extends AbstractSnapView {
             }
         }
 
-        loadTranslation(fullI18nKey, null);
-
+        return newModel;
     }
 
     /**
      * Load translations
      */
     private void loadTranslation(final String i18nKey, PropertiesFile forceFile) {
+        loadTranslation(i18nKey, forceFile, null);
+    }
+
+    /**
+     * Load translations
+     * @param loaded translations loaded into a background read action, null to load them from psi
+     */
+    private void loadTranslation(final String i18nKey, PropertiesFile forceFile, @Nullable TranslationModel.Translations loaded) {
+        long start = I18nMetrics.start();
+        try {
+            doLoadTranslation(i18nKey, forceFile, loaded);
+        } finally {
+            I18nMetrics.stop("loadTranslation", start);
+        }
+    }
+
+    private void doLoadTranslation(final String i18nKey, PropertiesFile forceFile, @Nullable TranslationModel.Translations loaded) {
 
         LOG.info("loadTranslation for key '" + i18nKey + "'");
+        boolean sameKey = i18nKey.equals(this.key.getText());
+        if (translationTable.isEditing())
+            translationTable.getCellEditor().stopCellEditing();
+        flushEdits();
         model.setSelectedKey(i18nKey);
         if (forceFile != null) {
             LOG.trace("loadTranslation for key '" + i18nKey + "' using file '" + forceFile + "'");
@@ -340,64 +401,29 @@ public class TranslationSnapView extends AbstractSnapView {
 
         //
         // Update UI if necessary
-        List<String> moduleLanguages = model.getLanguages();
+        List<String> moduleLanguages = loaded != null ? loaded.getLanguages() : model.getLanguages();
         if (moduleLanguages.isEmpty()) {
 
             LOG.trace("loadTranslation for key '" + i18nKey + "' : NO LANGUAGE FOUND - STOP");
             return;
         }
 
-        if (flags==null || flags.length != moduleLanguages.size()) {
-
-            LOG.trace("loadTranslation for key '" + i18nKey + "' : update languages list");
-
-            // clear resourcesGroup and listener
-            if (translationWindow !=null)
-                this.remove(translationWindow);
-
-            if (this.translations !=null) {
-                for (int i = 0; i < this.translations.length; i++) {
-                    translations[i].getDocument().removeDocumentListener(translationsPaneAdaptors[i]);
-                    translations[i].removeFocusListener(translationsPaneAdaptors[i]);
-                }
-            }
-
-            for (Document doc : propertiesFileAdaptors.keySet()) {
-                MyPropertiesFileAdapter listener = propertiesFileAdaptors.get(doc);
-                if (listener!=null)
-                    doc.removeDocumentListener(listener);
-            }
-            propertiesFileAdaptors.clear();
-
-            // reload swing
-            initComponents(moduleLanguages);
-
+        if (translationWindow.getParent() == null) {
             this.add(translationWindow, new GridConstraints(1, 0, 1, 1,
                     GridConstraints.ANCHOR_NORTHWEST, GridConstraints.FILL_BOTH,
                     GridConstraints.SIZEPOLICY_CAN_GROW,
                     GridConstraints.SIZEPOLICY_CAN_GROW,
                     new Dimension(100, 0), null, null));
-
-            // setup listeners
-            this.translationsPaneAdaptors = new MyTranslationPaneAdapter[this.flags.length];
-            for (int i=0; i<this.flags.length; i++) {
-
-                String lang = moduleLanguages.get(i);
-
-                this.flags[i].setIcon(I18NIcons.getFlag(lang));
-
-                Icon ico = IconUtil.addText(I18NIcons.TRANSPARENT, lang.toUpperCase(), 12f, SwingConstants.CENTER);
-                this.languages[i].setIcon(ico);
-                this.languages[i].setDisabledIcon(ico);
-
-                this.translationsPaneAdaptors[i] = new MyTranslationPaneAdapter(i);
-                this.translations[i].getDocument().addDocumentListener(translationsPaneAdaptors[i]);
-                this.translations[i].addFocusListener(translationsPaneAdaptors[i]);
-            }
-
-            LOG.trace("loadTranslation for key '" + i18nKey + "' : update languages list - done");
         }
 
+        // TIPS : rows are reused, only added, removed or relabeled rows are touched.
+        // Many languages : use the virtualized list instead, only visible rows are rendered
+        boolean virtual = moduleLanguages.size() > VIRTUAL_THRESHOLD;
+        updateRows(virtual ? Collections.emptyList() : moduleLanguages);
+        JComponent view = virtual ? translationTable : translationRows;
+        if (translationScroll.getViewport().getView() != view)
+            translationScroll.setViewportView(view);
+
         //
         // Sets key
         LOG.trace("loadTranslation for key '" + i18nKey + "' : setup text");
@@ -405,14 +431,49 @@ public class TranslationSnapView extends AbstractSnapView {
         this.key.setEditable(false);
         LOG.trace("loadTranslation for key '" + i18nKey + "' : setup text - done");
 
+        //
+        // Load translations
+        boolean atLeasOneTranslations = virtual ? loadTable(moduleLanguages, loaded) : loadRows(i18nKey, moduleLanguages, sameKey, loaded);
+
+        watchKey(i18nKey, loaded != null ? loaded.getFiles() : getBundleFiles());
+
+        // Update create or delete key button
+        LOG.trace("loadTranslation for key '" + i18nKey + "' : update CRUD buttons'");
+        updateCRUDButtons(atLeasOneTranslations, loaded);
+
+        //
+        // Update "open ressource button"
+        LOG.trace("loadTranslation for key '" + i18nKey + "' : update Edit button");
+        if (loaded != null)
+            updateResources(loaded.getResources(), loaded.getPropertiesFileTooltip());
+        else
+            updateEditButton(null);
+    }
+
+    /**
+     * loadRows
+     * Load translations of all languages into rows.
+     * When the same key is refreshed, rows being typed into are kept as is
+     */
+    private boolean loadRows(String i18nKey, List<String> langs, boolean sameKey, @Nullable TranslationModel.Translations loaded) {
+
         //
         // Load psi translations
         boolean isWritable = false;
         boolean atLeasOneTranslations = false;
-        IProperty[] translationProperties = new IProperty[this.flags.length];
-        for (int i=0; i<this.flags.length; i++) {
+        String[] translationValues = new String[this.flags.length];
+        if (loaded != null) {
 
-            String lang = getLanguage(i);
+            // TIPS : already loaded into the background read action, nothing to read here
+            for (int i=0; i<this.flags.length; i++)
+                translationValues[i] = loaded.getTranslation(langs.get(i));
+
+            isWritable = loaded.isWritable();
+            atLeasOneTranslations = loaded.hasTranslation();
+        }
+        else for (int i=0; i<this.flags.length; i++) {
+
+            String lang = langs.get(i);
             List<IProperty> psiProperties = model.getPsiProperties(lang);
             IProperty prop = psiProperties.isEmpty() ? null : psiProperties.get(0);
 
@@ -427,8 +488,8 @@ public class TranslationSnapView extends AbstractSnapView {
                 isWritable |= w;
                 atLeasOneTranslations = true;
 
+                translationValues[i] = I18nUtil.unescapeKeepCR(prop.getValue());
             }
-            translationProperties[i] = prop;
             LOG.trace("loadTranslation for key '" + i18nKey + "' : find translation properties for language '" + lang + "'");
         }
 
@@ -441,34 +502,198 @@ public class TranslationSnapView extends AbstractSnapView {
             this.translations[i].setEnabled(atLeasOneTranslations);
             this.translations[i].setEditable(isWritable);
 
-            String tr = translationProperties[i] != null ? I18nUtil.unescapeKeepCR(translationProperties[i].getValue()) : "";
-            LOG.trace("loadTranslation for key '" + i18nKey + "' : setup translation '" + tr + "'");
-            setTranslationNoEvents(this.translations[i], tr);
+            // TIPS : edits not written yet, or row focused : file is late compared to the row
+            if (sameKey && (this.translations[i].isFocusOwner() || isEditing(i18nKey, langs.get(i)))) {
+                LOG.trace("loadTranslation for key '" + i18nKey + "' : translation being edited, kept");
+            }
+            else {
+                String tr = translationValues[i] != null ? translationValues[i] : "";
+                LOG.trace("loadTranslation for key '" + i18nKey + "' : setup translation '" + tr + "'");
+                setTranslationNoEvents(this.translations[i], tr);
+            }
 
-            // add psi element modification listener
-            if (translationProperties[i] != null) {
+            this.languages[i].setEnabled(isWritable);
+        }
 
-                Document doc = FileUtil.getDocument(translationProperties[i].getPsiElement());
-                if (doc != null && !propertiesFileAdaptors.containsKey(doc)) {
+        translationsEditable = isWritable;
+        return atLeasOneTranslations;
+    }
 
-                    MyPropertiesFileAdapter listener = new MyPropertiesFileAdapter();
-                    doc.addDocumentListener( listener);
+    /**
+     * loadTable
+     * Reset virtualized list, translations will be fetched when rows are rendered
+     */
+    private boolean loadTable(List<String> moduleLanguages, @Nullable TranslationModel.Translations loaded) {
+
+        boolean atLeasOneTranslations = loaded != null ? loaded.hasTranslation() : model.hasAtLeastOneTranslation();
+        boolean isWritable = atLeasOneTranslations
+                && (loaded != null ? loaded.isSelectedFileWritable() : model.getSelectedPropertiesFile().getContainingFile().isWritable());
+
+        // TIPS : edits are bound to this key, even if committed once another key is loaded
+        TranslationModel m = model;
+        String key = model.getSelectedKey();
+        translationTableModel.reset(moduleLanguages,
+                loaded != null ? lang -> StringUtil.notNullize(loaded.getTranslation(lang)) : lang -> fetchTranslation(m, lang),
+                (lang, text) -> scheduleEdit(m, key, lang, text),
+                isWritable);
+        translationTable.setEnabled(atLeasOneTranslations);
+
+        translationsEditable = isWritable;
+        return atLeasOneTranslations;
+    }
 
-                    propertiesFileAdaptors.put(doc, listener);
-                }
-            }
+    /**
+     * fetchTranslation
+     */
+    private String fetchTranslation(TranslationModel m, String language) {
 
-            this.languages[i].setEnabled(isWritable);
+        List<IProperty> psiProperties = m.getPsiProperties(language);
+        if (psiProperties.isEmpty())
+            return "";
+
+        return I18nUtil.unescapeKeepCR(psiProperties.get(0).getValue());
+    }
+
+    /**
+     * watchKey
+     * Refresh when the displayed key is changed into one of the bundle files
+     */
+    private void watchKey(String i18nKey, List<VirtualFile> files) {
+
+        I18nKeyWatcher.getInstance(project).watch(keyWatch, i18nKey, files, document -> {
+
+            if (model == null)
+                return;
+
+            if (model.isViewRefreshBlocked())
+                return;
+
+            PsiDocumentManager.getInstance(project).performForCommittedDocument(document,
+                    this::refreshWhenDocumentUpdated);
+        });
+    }
+
+    /**
+     * getBundleFiles
+     */
+    private List<VirtualFile> getBundleFiles() {
+
+        List<VirtualFile> files = new ArrayList<>();
+        for (PropertiesFile pf : model.getSelectedPropertiesFile().getResourceBundle().getPropertiesFiles()) {
+            if (pf.getVirtualFile() != null)
+                files.add(pf.getVirtualFile());
         }
+        return files;
+    }
 
-        // Update create or delete key button
-        LOG.trace("loadTranslation for key '" + i18nKey + "' : update CRUD buttons'");
-        updateCRUDButtons(atLeasOneTranslations);
+    /**
+     * updateRows
+     * Diff current rows against languages : reuse rows, create or remove only the difference
+     */
+    void updateRows(List<String> langs) {
+
+        int size = langs.size();
+        int current = flags.length;
+        if (size != current)
+            LOG.trace("updateRows : " + current + " -> " + size + " rows");
+
+        // remove rows not needed anymore
+        for (int i = size; i < current; i++) {
+            translations[i].getDocument().removeDocumentListener(translationsPaneAdaptors[i]);
+            translations[i].removeFocusListener(translationsPaneAdaptors[i]);
+            translationPanel.remove(flags[i]);
+            translationPanel.remove(scrollers[i]);
+            translationPanel.remove(languages[i]);
+        }
 
-        //
-        // Update "open ressource button"
-        LOG.trace("loadTranslation for key '" + i18nKey + "' : update Edit button");
-        updateEditButton(null);
+        flags = Arrays.copyOf(flags, size);
+        translations = Arrays.copyOf(translations, size);
+        scrollers = Arrays.copyOf(scrollers, size);
+        languages = Arrays.copyOf(languages, size);
+        rowLanguages = Arrays.copyOf(rowLanguages, size);
+        translationsPaneAdaptors = Arrays.copyOf(translationsPaneAdaptors, size);
+
+        // create missing rows
+        for (int i = current; i < size; i++)
+            createRow(i);
+
+        // relabel rows which language changed
+        for (int i = 0; i < size; i++) {
+
+            String lang = langs.get(i);
+            if (lang.equals(rowLanguages[i]))
+                continue;
+
+            rowLanguages[i] = lang;
+            flags[i].setIcon(I18NIcons.getLanguageFlag(lang));
+
+            Icon ico = IconUtil.addText(I18NIcons.TRANSPARENT, lang.toUpperCase(), 12f, SwingConstants.CENTER);
+            languages[i].setIcon(ico);
+            languages[i].setDisabledIcon(ico);
+        }
+
+        if (size != current) {
+            translationScroll.setPreferredSize(new Dimension(translationPanel.getPreferredSize().width + translationScroll.getVerticalScrollBar().getPreferredSize().width + 5, -1));
+            translationPanel.revalidate();
+            translationPanel.repaint();
+        }
+    }
+
+    /**
+     * createRow
+     */
+    private void createRow(int i) {
+
+        //---- flag ----
+        flags[i] = new ActionLink("", actionEvent -> { openResourceBundleFile(i); });
+        flags[i].setAlignmentY(0.0F);
+        flags[i].setMinimumSize(new Dimension(25, 20));
+        flags[i].setToolTipText("Open properties file...");
+        flags[i].setRolloverIcon(I18NIcons.MOVE_TO);
+
+        translationPanel.add(flags[i], new GridBagConstraints(0, i, 1, 1,
+                0.0, 0.0, GridBagConstraints.NORTHEAST, GridBagConstraints.NONE, JBUI.insets(2, 0, 2, 5), 0, 0));
+
+        //---- translation ----
+        translations[i] = new JTextPane();
+        translations[i].setPreferredSize(new Dimension(-1, 37));
+        translations[i].setBorder(new EtchedBorder());
+        translations[i].setAutoscrolls(true);
+        translations[i].setFont(flags[i].getFont());
+        scrollers[i] = new JBScrollPane(translations[i]); // TIPS : Use scroller otherwise the textarea will not shrink !!
+        translationPanel.add(scrollers[i], new GridBagConstraints(1, i, 1, 1,
+                1.0, 0.0, GridBagConstraints.NORTHWEST, GridBagConstraints.BOTH, JBUI.insets(2, 0), 0, 0));
+
+        //---- lang ----
+        languages[i] = new ActionLink("", actionEvent -> {
+            googleTranslation(i);
+        });
+
+        languages[i].setMinimumSize(new Dimension(30, 20));
+        languages[i].setHorizontalTextPosition(SwingConstants.LEFT);
+        languages[i].setToolTipText("Google translate...");
+        languages[i].setRolloverIcon(I18NIcons.GOOGLE_TRANSALTE);
+        translationPanel.add(languages[i], new GridBagConstraints(2, i, 1, 1,
+                0.0, 0.0, GridBagConstraints.NORTHWEST, GridBagConstraints.NONE, JBUI.insets(2, 5, 2, 0), 0, 0));
+
+        //---- listeners ----
+        translationsPaneAdaptors[i] = new MyTranslationPaneAdapter(i);
+        translations[i].getDocument().addDocumentListener(translationsPaneAdaptors[i]);
+        translations[i].addFocusListener(translationsPaneAdaptors[i]);
+    }
+
+    /**
+     * Gets translation field of the row
+     */
+    JTextComponent getTranslationField(int index) {
+        return translations[index];
+    }
+
+    /**
+     * Gets languages of the rows
+     */
+    List<String> getRowLanguages() {
+        return Arrays.asList(rowLanguages);
     }
 
     private String getLanguage(int index) {
@@ -481,9 +706,9 @@ public class TranslationSnapView extends AbstractSnapView {
     /**
      * updateCRUDButtons
      */
-    private void updateCRUDButtons(boolean atLeasOneTranslations) {
+    private void updateCRUDButtons(boolean atLeasOneTranslations, @Nullable TranslationModel.Translations loaded) {
 
-        boolean isWritable = translations[0].isEditable();
+        boolean isWritable = translationsEditable;
 
         deleteOrCreateKeyButton.setText(isWritable && atLeasOneTranslations ? DELETE_KEY : CREATE_KEY);
         deleteOrCreateKeyButton.setIcon(isWritable && atLeasOneTranslations ? I18NIcons.DELETE : I18NIcons.ADD);
@@ -492,7 +717,12 @@ public class TranslationSnapView extends AbstractSnapView {
 
         duplicateButton.setVisible(atLeasOneTranslations && isWritable);
 
-        try {
+        if (loaded != null) {
+            String tooltip = loaded.getBundleTooltip(isWritable);
+            deleteOrCreateKeyButton.setToolTipText(tooltip);
+            duplicateButton.setToolTipText(tooltip);
+        }
+        else try {
             String tooltip = isWritable ? model.getSelectedBundleTooltip() : TranslationModel.getTooltip("*", I18nUtil.getLocalPsiPropertiesFiles(model.getModule()).get(0), model.getModule());
             deleteOrCreateKeyButton.setToolTipText(tooltip);
             duplicateButton.setToolTipText(tooltip);
@@ -514,8 +744,17 @@ public class TranslationSnapView extends AbstractSnapView {
         if (language !=null)
             model.setSelectedLanguage(language);
 
+        updateResources(model.getResources(), model.getSelectedPropertiesFileTooltip());
+    }
+
+    /**
+     * updateResources
+     * @param resources properties files of the selected language, with their short name
+     */
+    private void updateResources(Map<PropertiesFile, String> resources, String tooltip) {
+
         // Update Resource selection list
-        List<PropertiesFile> propertiesFiles = model.getPropertiesFiles();
+        List<PropertiesFile> propertiesFiles = new ArrayList<>(resources.keySet());
         List<PropertiesFile> current = new ArrayList<>();
         for (int i=0; i<resourcesGroup.getItemCount(); i++) {
             MyPropertiesFileInfo item = (MyPropertiesFileInfo) resourcesGroup.getItemAt(i);
@@ -526,7 +765,7 @@ public class TranslationSnapView extends AbstractSnapView {
                 resourcesGroup.putClientProperty(BLOCK_REFRESH, true);
                 resourcesGroup.removeAllItems();
                 for (PropertiesFile pf : propertiesFiles) {
-                    String label = model.getShortName(pf);
+                    String label = resources.get(pf);
                     MyPropertiesFileInfo info = new MyPropertiesFileInfo(label, pf, IntelliJLaf.class.getName());
                     resourcesGroup.addItem(info);
                 }
@@ -552,7 +791,7 @@ public class TranslationSnapView extends AbstractSnapView {
             }
         }
 
-        resourcesGroup.setToolTipText(model.getSelectedPropertiesFileTooltip());
+        resourcesGroup.setToolTipText(tooltip);
     }
 
     /**
@@ -572,6 +811,73 @@ public class TranslationSnapView extends AbstractSnapView {
         }
     }
 
+    /**
+     * scheduleEdit
+     * Edits are coalesced and written once the user stops typing
+     */
+    private void scheduleEdit(String language, String translation) {
+        scheduleEdit(model, model.getSelectedKey(), language, translation);
+    }
+
+    private void scheduleEdit(TranslationModel m, String key, String language, String translation) {
+
+        if (language == null)
+            return;
+
+        if (editsModel != m || !Objects.equals(editsKey, key)) {
+            flushEdits();
+            editsModel = m;
+            editsKey = key;
+            editsGroupId = new Object();
+        }
+
+        pendingEdits.put(language, translation);
+        editsAlarm.cancelAllRequests();
+        editsAlarm.addRequest(this::flushEdits, EDITS_DELAY);
+    }
+
+    /**
+     * flushEdits
+     */
+    private void flushEdits() {
+
+        editsAlarm.cancelAllRequests();
+        if (pendingEdits.isEmpty() || editsModel == null)
+            return;
+
+        String key = editsKey;
+        Object groupId = editsGroupId;
+        Map<PropertiesFile, String> edits = editsModel.getTargetFiles(pendingEdits);
+        List<Pair<String, String>> writing = new ArrayList<>();
+        for (String language : pendingEdits.keySet())
+            writing.add(Pair.create(key, language));
+        writingEdits.addAll(writing);
+        pendingEdits.clear();
+
+        PsiDocumentManager.getInstance(project).performLaterWhenAllCommitted(
+            () -> {
+                try {
+                    SlowOperations.allowSlowOperations((ThrowableRunnable<Throwable>) () ->
+                            I18nUtil.doUpdateTranslations(key, edits, project, groupId));
+                } catch (Throwable ee) {
+                    LOG.error("Translation update error", ee);
+                } finally {
+                    writing.forEach(writingEdits::remove);
+                }
+            }
+        );
+    }
+
+    /**
+     * isEditing
+     * Translation was typed and is not written yet into its file
+     */
+    private boolean isEditing(String key, String language) {
+        if (key.equals(editsKey) && pendingEdits.containsKey(language))
+            return true;
+        return writingEdits.contains(Pair.create(key, language));
+    }
+
     /**
      * openResourceBundleFile
      * @param index
@@ -752,6 +1058,8 @@ public class TranslationSnapView extends AbstractSnapView {
 
     /**
      * initTranslation
+     * Key is resolved into a non blocking read action, out of EDT. Any pending resolution
+     * is cancelled as soon as a new one is submitted; only the last result reaches swing.
      */
     private void initTranslation(final Editor editor) {
         if (editor.isDisposed()) {
@@ -774,70 +1082,106 @@ public class TranslationSnapView extends AbstractSnapView {
             return;
         }
 
-        PsiDocumentManager.getInstance(project).performForCommittedDocument(editor.getDocument(),
-                () -> {
+        // TIPS : 'initTranslation' measures from caret move to view loaded, canceled or failed, 'initTranslation.resolve' the read action only
+        long start = I18nMetrics.start();
+        int offset = editor.getCaretModel().getOffset();
+        ReadAction.nonBlocking(() -> {
+                    long resolve = I18nMetrics.start();
+                    try {
+                        return resolveTranslation(editor, offset);
+                    } finally {
+                        I18nMetrics.stop("initTranslation.resolve", resolve);
+                    }
+                })
+                .withDocumentsCommitted(project)
+                .inSmartMode(project)
+                .expireWhen(editor::isDisposed)
+                .expireWith(project)
+                .coalesceBy(this)
+                .finishOnUiThread(ModalityState.defaultModalityState(), newModel -> {
 
-                    LOG.trace("initTranslation : search for reference...");
+                    if (newModel == null)
+                        return;
 
-                    // Search for reference
-                    Module module = null;
-                    String key = null;
+                    if (Boolean.TRUE.equals(getClientProperty(BLOCK_I18N)))
+                        return;
 
-                    PsiReference referenceTarget = null;
+                    if (model != null && model.isViewRefreshBlocked())
+                        return;
+
+                    // TIPS : translations were loaded into the read action, only apply them
+                    model = newModel;
                     try {
-                        referenceTarget = SlowOperations.allowSlowOperations((ThrowableComputable<PsiReference, Throwable>) () ->
-                                findReferenceTarget(editor));
+                        loadTranslation(newModel.getKeyPath(), null, newModel.takeTranslations());
                     } catch (Throwable e) {
                         LOG.error("Translation init error", e);
                     }
+                })
+                .submit(AppExecutorUtil.getAppExecutorService())
+                .onProcessed(newModel -> I18nMetrics.stop("initTranslation", start));
+    }
 
-                    LOG.trace("initTranslation : reference : " + referenceTarget);
-                    if (referenceTarget != null) {
+    /**
+     * resolveTranslation
+     * Runs into a background read action
+     */
+    @Nullable
+    private TranslationModel resolveTranslation(final Editor editor, int offset) {
 
-                        module = JavaUtil.getModule(referenceTarget.getElement());
-                        String text = findI18NKey(referenceTarget, module);
-                        LOG.trace("initTranslation : text : " + referenceTarget);
-                        if (text != null && !text.contains(" "))
-                            key = StringUtil.removeQuotes(text);
+        LOG.trace("initTranslation : search for reference...");
 
-                    }
+        // Search for reference
+        Module module = null;
+        String key = null;
 
-                    if (key == null) {
+        PsiReference referenceTarget = findReferenceTarget(editor, offset);
+        LOG.trace("initTranslation : reference : " + referenceTarget);
+        if (referenceTarget != null) {
 
-                        LOG.trace("initTranslation : key not found yet...");
-                        // Search for element
-                        PsiElement target = findTarget(editor);
-                        LOG.trace("initTranslation : target : " + target);
-                        if (target != null) {
+            module = JavaUtil.getModule(referenceTarget.getElement());
+            String text = findI18NKey(referenceTarget, module);
+            LOG.trace("initTranslation : text : " + referenceTarget);
+            if (text != null && !text.contains(" "))
+                key = StringUtil.removeQuotes(text);
 
-                            module = JavaUtil.getModule(target);
-                            String text = findI18NKey(target, module);
-                            LOG.trace("initTranslation : text : " + text);
-                            if (text != null && !text.contains(" "))
-                                key = StringUtil.removeQuotes(text);
-                        }
-                    }
+        }
 
-                    LOG.trace("initTranslation : key : " + key);
-                    if (key != null) {
-                        try {
-                            String finalKey = key;
-                            Module finalModule = module;
-                            SlowOperations.allowSlowOperations((ThrowableRunnable<Throwable>) () ->
-                                    initTranslationKey(finalKey, false, FileUtil.getFile(editor), finalModule));
-                        } catch (Throwable e) {
-                            LOG.error("Translation init error", e);
-                        }
-                    }
-                });
+        ProgressManager.checkCanceled();
+        if (key == null) {
+
+            LOG.trace("initTranslation : key not found yet...");
+            // Search for element
+            PsiElement target = findTarget(editor, offset);
+            LOG.trace("initTranslation : target : " + target);
+            if (target != null) {
+
+                module = JavaUtil.getModule(target);
+                String text = findI18NKey(target, module);
+                LOG.trace("initTranslation : text : " + text);
+                if (text != null && !text.contains(" "))
+                    key = StringUtil.removeQuotes(text);
+            }
+        }
+
+        LOG.trace("initTranslation : key : " + key);
+        if (key == null)
+            return null;
+
+        ProgressManager.checkCanceled();
+        TranslationModel newModel = createModel(key, false, FileUtil.getFile(editor.getDocument(), project), module);
+        if (newModel == null)
+            return null;
+
+        ProgressManager.checkCanceled();
+        newModel.setSelectedKey(newModel.getKeyPath());
+        newModel.loadTranslations();
+        return newModel;
     }
 
     /**
      * findTarget
      */
-    protected PsiReference findReferenceTarget(Editor editor) {
-
-        int offset = editor.getCaretModel().getOffset();
+    protected PsiReference findReferenceTarget(Editor editor, int offset) {
 
         Project project = editor.getProject();
         if (project == null)
@@ -863,7 +1207,13 @@ public class TranslationSnapView extends AbstractSnapView {
      * findTarget
      */
     protected PsiElement findTarget(Editor editor) {
-        int offset = editor.getCaretModel().getOffset();
+        return findTarget(editor, editor.getCaretModel().getOffset());
+    }
+
+    /**
+     * findTarget
+     */
+    protected PsiElement findTarget(Editor editor, int offset) {
 
         Project project = editor.getProject();
         if (project == null)
@@ -900,7 +1250,7 @@ public class TranslationSnapView extends AbstractSnapView {
     /*****************************************************
      * initComponents
      */
-    private void initComponents(List<String> langs) {
+    private void initComponents() {
 
         // JFormDesigner - Component initialization - DO NOT MODIFY  //GEN-BEGIN:initComponents
         // Generated using JFormDesigner Evaluation license - Maxime HAMM
@@ -981,68 +1331,57 @@ public class TranslationSnapView extends AbstractSnapView {
         }
 
         
-        //---- flag ----
-        flags = new ActionLink[langs.size()];
-        translations = new JTextComponent[langs.size()];
-        languages = new ActionLink[langs.size()];
-
-        JPanel translationPanel = new JPanel();
-        if (langs.size()>0) {
-
-            translationPanel.setLayout(new GridLayoutManager(langs.size(), 3, JBUI.insets(10, 15, 10, 5), -1, -1));
-
-            for (int i = 0; i < langs.size(); i++) {
-
-                int finalI = i;
-
-                flags[i] = new ActionLink("", actionEvent -> { openResourceBundleFile(finalI); });
-                flags[i].setAlignmentY(0.0F);
-                flags[i].setMinimumSize(new Dimension(25, 20));
-                flags[i].setToolTipText("Open properties file...");
-                flags[i].setRolloverIcon(I18NIcons.MOVE_TO);
-
-                translationPanel.add(flags[i], new GridConstraints(i, 0, 1, 1,
-                        GridConstraints.ANCHOR_NORTHEAST, GridConstraints.FILL_NONE,
-                        GridConstraints.SIZEPOLICY_CAN_SHRINK,
-                        GridConstraints.SIZEPOLICY_CAN_SHRINK,
-                        null, null, null));
-
-                //---- translation ----
-                translations[i] = new JTextPane();
-                translations[i].setPreferredSize(new Dimension(-1, 37));
-                translations[i].setBorder(new EtchedBorder());
-                translations[i].setAutoscrolls(true);
-                translations[i].setFont(flags[i].getFont());
-                JBScrollPane scroller = new JBScrollPane(translations[i]); // TIPS : Use scroller otherwise the textarea will not shrink !!
-                translationPanel.add(scroller, new GridConstraints(i, 1, 1, 1,
-                        GridConstraints.ANCHOR_NORTHWEST, GridConstraints.FILL_BOTH,
-                        GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW,
-                        GridConstraints.SIZEPOLICY_CAN_SHRINK,
-                        null, null, null));
-
-                //---- lang ----
-                languages[i] = new ActionLink("", actionEvent -> {
-                    googleTranslation(finalI);
-                });
-
-                languages[i].setMinimumSize(new Dimension(30, 20));
-                languages[i].setHorizontalTextPosition(SwingConstants.LEFT);
-                translationPanel.add(languages[i], new GridConstraints(i, 2, 1, 1,
-                        GridConstraints.ANCHOR_NORTHWEST, GridConstraints.FILL_NONE,
-                        GridConstraints.SIZEPOLICY_CAN_SHRINK,
-                        GridConstraints.SIZEPOLICY_FIXED,
-                        null, null, null));
-                languages[i].setToolTipText("Google translate...");
-                languages[i].setRolloverIcon(I18NIcons.GOOGLE_TRANSALTE);
-            }
+        //---- translations : rows are created by updateRows ----
+        translationPanel = new JPanel(new GridBagLayout());
+        translationPanel.setBorder(JBUI.Borders.empty(10, 15, 10, 5));
+
+        translationRows = new JPanel(new BorderLayout()); // TIPS : keep rows on top
+        translationRows.add(translationPanel, BorderLayout.NORTH);
+
+        //---- virtualized translations, for bundles having many languages ----
+        translationTableModel = new TranslationTableModel();
+        translationTable = new JBTable(translationTableModel);
+        translationTable.setTableHeader(null);
+        translationTable.setShowGrid(false);
+        translationTable.setRowHeight(JBUI.scale(28));
+        translationTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        translationTable.putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+        for (int column : new int[] { TranslationTableModel.FLAG, TranslationTableModel.LANGUAGE }) {
+            translationTable.getColumnModel().getColumn(column).setMinWidth(JBUI.scale(35));
+            translationTable.getColumnModel().getColumn(column).setMaxWidth(JBUI.scale(35));
         }
+        translationTable.getColumnModel().getColumn(TranslationTableModel.TRANSLATION).setCellEditor(new TranslationCellEditor());
+        translationTable.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int row = translationTable.rowAtPoint(e.getPoint());
+                int column = translationTable.columnAtPoint(e.getPoint());
+                if (row < 0)
+                    return;
+                if (column == TranslationTableModel.FLAG)
+                    openResourceBundleFile(row);
+                else if (column == TranslationTableModel.LANGUAGE)
+                    googleTranslation(row);
+            }
+        });
+        translationTable.getSelectionModel().addListSelectionListener(e -> {
+            String language = translationTableModel.getLanguage(translationTable.getSelectedRow());
+            if (e.getValueIsAdjusting() || language == null)
+                return;
+            try {
+                SlowOperations.allowSlowOperations((ThrowableRunnable<Throwable>) () ->
+                        updateEditButton(language));
+            } catch (Throwable ee) {
+                LOG.error("Translation init error", ee);
+            }
+        });
 
-        JScrollPane scroll = ScrollPaneFactory.createScrollPane(translationPanel, true);
-        scroll.setPreferredSize(new Dimension(translationPanel.getPreferredSize().width + scroll.getVerticalScrollBar().getPreferredSize().width + 5, -1));
-        scroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-        scroll.setMinimumSize(new Dimension(-1, 50));
+        translationScroll = ScrollPaneFactory.createScrollPane(translationRows, true);
+        translationScroll.setPreferredSize(new Dimension(translationPanel.getPreferredSize().width + translationScroll.getVerticalScrollBar().getPreferredSize().width + 5, -1));
+        translationScroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        translationScroll.setMinimumSize(new Dimension(-1, 50));
 
-        translationWindow.add(scroll, new GridConstraints(1, 0, 1, 1,
+        translationWindow.add(translationScroll, new GridConstraints(1, 0, 1, 1,
                 GridConstraints.ANCHOR_WEST, GridConstraints.FILL_BOTH,
                 GridConstraints.SIZEPOLICY_CAN_SHRINK | GridConstraints.SIZEPOLICY_CAN_GROW ,
                 GridConstraints.SIZEPOLICY_CAN_GROW,
@@ -1074,7 +1413,7 @@ public class TranslationSnapView extends AbstractSnapView {
 
     private void googleTranslation(int index) {
 
-        if (! this.translations[index].isEditable())
+        if (! translationsEditable)
             return;
 
         // try to use best laguage
@@ -1137,7 +1476,7 @@ public class TranslationSnapView extends AbstractSnapView {
                         String translation;
                         try {
 
-                            translation = I18nUtil.googleTranslate(key, targetLanguage, finalSourceLanguage, finalSourceTranslation);
+                            translation = I18nUtil.googleTranslate(project, key, targetLanguage, finalSourceLanguage, finalSourceTranslation);
 
                         } catch (SocketTimeoutException | UnknownHostException e) {
                             if (canceled)
@@ -1202,19 +1541,7 @@ public class TranslationSnapView extends AbstractSnapView {
         protected void textChanged(javax.swing.event.DocumentEvent e) {
             Boolean block = (Boolean) TranslationSnapView.this.getClientProperty(BLOCK_I18N);
             if (!Boolean.TRUE.equals(block)) {
-
-                PsiDocumentManager.getInstance(model.getModule().getProject()).performLaterWhenAllCommitted(
-                    () -> {
-                        try {
-                            SlowOperations.allowSlowOperations((ThrowableRunnable<Throwable>) () ->
-                                    model.updateKey(getLanguage(index), translations[index].getText()));
-                        } catch (Throwable ee) {
-                            LOG.error("Translation init error", ee);
-                        }
-
-                    }
-                );
-
+                scheduleEdit(getLanguage(index), translations[index].getText());
             }
         }
 
@@ -1233,62 +1560,13 @@ public class TranslationSnapView extends AbstractSnapView {
 
         @Override
         public void focusLost(FocusEvent e) {
+            flushEdits();
         }
 
 
     }
 
 
-    /*******************************************$
-     *  MyPropertiesFileAdapter
-     */
-    private class MyPropertiesFileAdapter implements DocumentListener {
-
-        private PropertyKeyImpl key = null;
-
-        @Override
-        public void beforeDocumentChange(DocumentEvent e) {
-
-            if (model == null)
-                return;
-
-            PropertyKeyImpl k = findPropertyKey(e);
-            if (k!=null && k.getText().equals(model.getSelectedKey()))
-                key = k;
-
-        }
-
-        @Override
-        public void documentChanged(DocumentEvent e) {
-
-            if (model == null)
-                return;
-
-            if (model.isViewRefreshBlocked())
-                return;
-
-            Module module = model.getModule();
-            PsiDocumentManager.getInstance(
-                    module.getProject()).performForCommittedDocument(e.getDocument(),
-                    () -> {
-                        refreshWhenDocumentUpdated();
-                    });
-        }
-
-
-        public PropertyKeyImpl findPropertyKey(DocumentEvent event) {
-            PsiFile file = FileUtil.getFile(event.getDocument(), model.getModule().getProject());
-            PsiElement elementAt = file.findElementAt(event.getOffset());
-            if (! (elementAt instanceof PropertyKeyImpl))
-                elementAt =  file.findElementAt(event.getOffset()-1);
-
-            if (elementAt instanceof PropertyKeyImpl) {
-                return (PropertyKeyImpl) elementAt;
-            }
-            return null;
-        }
-    }
-
     /*******************************************$
      *  MyPropertiesFileInfo
      */
@@ -0,0 +1,126 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.view;
+
+import io.nimbly.i18n.util.IconUtil;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * TranslationTableModel
+ * Table model of the virtualized translation list : one row per language.
+ * Translations are fetched on demand, when the table renders a row, then cached until next reset.
+ * Translations are edited with {@link TranslationCellEditor}, so that multi-line translations keep their lines.
+ */
+public class TranslationTableModel extends AbstractTableModel {
+
+    public static final int FLAG = 0;
+    public static final int TRANSLATION = 1;
+    public static final int LANGUAGE = 2;
+
+    private List<String> languages = Collections.emptyList();
+    private Function<String, String> fetcher = lang -> "";
+    private BiConsumer<String, String> editor = (lang, text) -> {};
+    private boolean editable;
+
+    private final Map<String, String> translations = new HashMap<>();
+    private final Map<String, Icon> languageIcons = new HashMap<>();
+
+    /**
+     * Reset model
+     *
+     * @param languages the languages
+     * @param fetcher   fetch translation of a language
+     * @param editor    called with language and translation when a translation is edited
+     * @param editable  translations are editable
+     */
+    public void reset(List<String> languages, Function<String, String> fetcher, BiConsumer<String, String> editor, boolean editable) {
+        this.languages = languages;
+        this.fetcher = fetcher;
+        this.editor = editor;
+        this.editable = editable;
+        this.translations.clear();
+        fireTableDataChanged();
+    }
+
+    public String getLanguage(int row) {
+        if (row < 0 || row >= languages.size())
+            return null;
+        return languages.get(row);
+    }
+
+    public boolean isEditable() {
+        return editable;
+    }
+
+    @Override
+    public int getRowCount() {
+        return languages.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return 3;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == TRANSLATION ? String.class : Icon.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+
+        String lang = languages.get(row);
+        switch (column) {
+            case FLAG:
+                return I18NIcons.getLanguageFlag(lang);
+            case LANGUAGE:
+                return languageIcons.computeIfAbsent(lang, l ->
+                        IconUtil.addText(I18NIcons.TRANSPARENT, l.toUpperCase(), 12f, SwingConstants.CENTER));
+            default:
+                // TIPS : only rows rendered are fetched
+                return translations.computeIfAbsent(lang, fetcher);
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return editable && column == TRANSLATION;
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+
+        if (column != TRANSLATION)
+            return;
+
+        String lang = languages.get(row);
+        String translation = value != null ? value.toString() : "";
+        if (translation.equals(translations.get(lang)))
+            return;
+
+        translations.put(lang, translation);
+        fireTableCellUpdated(row, column);
+        editor.accept(lang, translation);
+    }
+}
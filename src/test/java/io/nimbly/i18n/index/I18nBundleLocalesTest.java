@@ -0,0 +1,75 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import io.nimbly.i18n.util.I18nUtil;
+
+import java.util.Arrays;
+
+/**
+ * I18nBundleLocalesTest
+ */
+public class I18nBundleLocalesTest extends BasePlatformTestCase {
+
+    public void testFilesByLanguage() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("messages.properties", "title=Title\n");
+        PropertiesFile it = (PropertiesFile) myFixture.addFileToProject("messages_it.properties", "title=Titolo\n");
+        PropertiesFile de = (PropertiesFile) myFixture.addFileToProject("messages_de.properties", "title=Titel\n");
+        PropertiesFile en = (PropertiesFile) myFixture.addFileToProject("messages_en.properties", "title=Title\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("messages_fr.properties", "title=Titre\n");
+        PropertiesFile br = (PropertiesFile) myFixture.addFileToProject("messages_pt_BR.properties", "title=T\u00edtulo\n");
+
+        I18nBundleLocales locales = new I18nBundleLocales(main.getResourceBundle());
+        assertEquals("messages", locales.getBaseName());
+
+        // TIPS : en, fr, es, de first, then bundle order
+        assertEquals(Arrays.asList("en", "fr", "de"), locales.getLanguages().subList(0, 3));
+        assertSameElements(locales.getLanguages(), "en", "fr", "de", "it", "pt_BR");
+
+        assertEquals(en, locales.getFile("en"));
+        assertEquals(fr, locales.getFile("fr"));
+        assertEquals(de, locales.getFile("de"));
+        assertEquals(it, locales.getFile("it"));
+        assertEquals(br, locales.getFile("pt_BR"));
+        assertNull(locales.getFile("es"));
+        assertNull(locales.getFile("pt"));
+        assertTrue(locales.isValid());
+    }
+
+    public void testDefaultFileHasNoLanguage() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("labels.properties", "title=Title\n");
+        myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+
+        I18nBundleLocales locales = new I18nBundleLocales(main.getResourceBundle());
+        assertEquals(Arrays.asList("fr"), locales.getLanguages());
+    }
+
+    public void testSiblingFile() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("labels.properties", "title=Title\n");
+        PropertiesFile en = (PropertiesFile) myFixture.addFileToProject("labels_en.properties", "title=Title\n");
+        PropertiesFile es = (PropertiesFile) myFixture.addFileToProject("labels_es.properties", "title=T\u00edtulo\n");
+
+        assertEquals(es, I18nUtil.getPsiPropertiesSiblingFile(en, "es"));
+        assertEquals(en, I18nUtil.getPsiPropertiesSiblingFile(es, "en"));
+        assertEquals(es, I18nUtil.getPsiPropertiesFile(main.getResourceBundle(), "es"));
+        assertNull(I18nUtil.getPsiPropertiesSiblingFile(en, "fr"));
+        assertEquals(Arrays.asList("en", "es"), I18nUtil.getLanguages(main.getResourceBundle()));
+    }
+}
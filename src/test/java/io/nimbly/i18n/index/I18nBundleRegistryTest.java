@@ -0,0 +1,97 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+import com.intellij.util.FileContentUtilCore;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * I18nBundleRegistryTest
+ */
+public class I18nBundleRegistryTest extends BasePlatformTestCase {
+
+    public void testBaseNames() {
+        assertEquals(Arrays.asList("app_messages_custom", "app_messages", "app"), I18nBundleRegistry.getBaseNames("app_messages_custom.properties"));
+        assertEquals(Collections.singletonList("messages"), I18nBundleRegistry.getBaseNames("messages.properties"));
+        assertEmpty(I18nBundleRegistry.getBaseNames("messages_fr.txt"));
+    }
+
+    public void testNonLocaleUnderscoreIntoBaseName() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("app_messages_custom.properties", "title=Title\n");
+        myFixture.addFileToProject("app_messages_custom_fr.properties", "title=Titre\n");
+
+        I18nBundleRegistry registry = I18nBundleRegistry.getInstance(getProject());
+        ResourceBundle bundle = main.getResourceBundle();
+        assertNull(registry.getLocales(bundle).getFile("de"));
+
+        PropertiesFile de = (PropertiesFile) myFixture.addFileToProject("app_messages_custom_de.properties", "title=Titel\n");
+        assertEquals(de, registry.getLocales(main.getResourceBundle()).getFile("de"));
+    }
+
+    public void testReparsedFilesAreNotServed() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("labels.properties", "title=Title\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+
+        I18nBundleRegistry registry = I18nBundleRegistry.getInstance(getProject());
+        assertEquals(fr, registry.getLocales(main.getResourceBundle()).getFile("fr"));
+        assertContainsElements(registry.getResourceBundles(getModule()), main.getResourceBundle());
+
+        FileContentUtilCore.reparseFiles(main.getVirtualFile(), fr.getVirtualFile());
+        assertFalse(fr.getContainingFile().isValid());
+
+        PropertiesFile reparsed = (PropertiesFile) PsiManager.getInstance(getProject()).findFile(fr.getVirtualFile());
+        ResourceBundle bundle = reparsed.getResourceBundle();
+        assertTrue(registry.getLocales(bundle).getFile("fr").getContainingFile().isValid());
+        for (ResourceBundle b : registry.getResourceBundles(getModule()))
+            assertTrue(I18nBundleRegistry.isValid(b));
+    }
+
+    public void testOnlyChangedBundleIsComputedAgain() {
+
+        PropertiesFile labels = (PropertiesFile) myFixture.addFileToProject("labels.properties", "title=Title\n");
+        myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+        PropertiesFile messages = (PropertiesFile) myFixture.addFileToProject("messages.properties", "title=Title\n");
+        myFixture.addFileToProject("messages_fr.properties", "title=Titre\n");
+
+        I18nBundleRegistry registry = I18nBundleRegistry.getInstance(getProject());
+        List<ResourceBundle> bundles = registry.getResourceBundles(getModule());
+        assertContainsElements(bundles, labels.getResourceBundle(), messages.getResourceBundle());
+
+        I18nBundleLocales labelsLocales = registry.getLocales(labels.getResourceBundle());
+        I18nBundleLocales messagesLocales = registry.getLocales(messages.getResourceBundle());
+        assertNull(messagesLocales.getFile("de"));
+
+        PropertiesFile de = (PropertiesFile) myFixture.addFileToProject("messages_de.properties", "title=Titel\n");
+
+        // TIPS : 'labels' base name is not one of 'messages_de', its table is kept
+        assertSame(labelsLocales, registry.getLocales(labels.getResourceBundle()));
+        I18nBundleLocales computed = registry.getLocales(messages.getResourceBundle());
+        assertNotSame(messagesLocales, computed);
+        assertEquals(de, computed.getFile("de"));
+
+        List<ResourceBundle> computedBundles = registry.getResourceBundles(getModule());
+        assertSameElements(computedBundles, bundles);
+        assertSame(labelsLocales, registry.getLocales(labels.getResourceBundle()));
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+/**
+ * I18nKeyIndexTest
+ */
+public class I18nKeyIndexTest extends BasePlatformTestCase {
+
+    public void testKeysAndOffsets() {
+
+        VirtualFile file = myFixture.configureByText("messages_fr.properties",
+                "hello=Bonjour\n" +
+                "bye=Au revoir\n" +
+                "my\\ key=Ma clef\n").getVirtualFile();
+
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+        assertContainsElements(I18nKeyIndex.getFiles("hello", scope), file);
+        assertContainsElements(I18nKeyIndex.getFiles("my key", scope), file);
+        assertEmpty(I18nKeyIndex.getFiles("missing", scope));
+
+        assertEquals(Integer.valueOf(0), I18nKeyIndex.getOffset("hello", file, getProject()));
+        assertEquals(Integer.valueOf(14), I18nKeyIndex.getOffset("bye", file, getProject()));
+        assertEquals(Integer.valueOf(28), I18nKeyIndex.getOffset("my key", file, getProject()));
+        assertNull(I18nKeyIndex.getOffset("missing", file, getProject()));
+    }
+
+    public void testFirstDefinitionWins() {
+
+        VirtualFile file = myFixture.configureByText("messages_de.properties",
+                "key=eins\n" +
+                "key=zwei\n").getVirtualFile();
+
+        assertEquals(Integer.valueOf(0), I18nKeyIndex.getOffset("key", file, getProject()));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.lang.properties.psi.Property;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * I18nKeyUsageIndexTest
+ */
+public class I18nKeyUsageIndexTest extends BasePlatformTestCase {
+
+    public void testEveryOccurrenceIsIndexed() {
+
+        VirtualFile file = myFixture.configureByText("Usage.java",
+                "class Usage {\n" +
+                "  String a = \"order.title\";\n" +
+                "  String b = \"not a key\";\n" +
+                "  String c = \"order.title\";\n" +
+                "}\n").getVirtualFile();
+
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(getProject());
+        assertContainsElements(I18nKeyUsageIndex.getFiles("order.title", scope), file);
+        assertEmpty(I18nKeyUsageIndex.getFiles("not a key", scope));
+
+        assertEquals(Arrays.asList(27, 81), I18nKeyUsageIndex.getOffsets("order.title", file, getProject()));
+        assertEmpty(I18nKeyUsageIndex.getOffsets("missing", file, getProject()));
+    }
+
+    public void testLiteralValue() {
+        assertEquals("my.key", I18nKeyUsageIndex.getLiteralValue("\"my.key\""));
+        assertEquals("my\"key", I18nKeyUsageIndex.getLiteralValue("\"my\\\"key\""));
+        assertNull(I18nKeyUsageIndex.getLiteralValue("\"my.key"));
+    }
+
+    public void testUndefinedKeysAtEveryOccurrence() {
+
+        myFixture.configureByText("Usage.java",
+                "class Usage {\n" +
+                "  void run(java.util.ResourceBundle rb) {\n" +
+                "    String s = \"order.title\";\n" +
+                "    rb.getString(\"order.title\");\n" +
+                "  }\n" +
+                "}\n");
+
+        List<PsiLiteralExpression> literals = I18nKeyUsageSearch.findUndefinedKeys(getProject());
+        assertEquals(1, literals.size());
+        assertEquals("order.title", literals.get(0).getValue());
+    }
+
+    public void testUnusedKeysOfBundlesOnly() {
+
+        myFixture.addFileToProject("application.properties", "server.port=8080\n");
+        myFixture.addFileToProject("messages.properties", "order.title=Order\nused.key=Used\n");
+        myFixture.addFileToProject("messages_fr.properties", "order.title=Commande\nused.key=Utilise\n");
+        myFixture.addFileToProject("Usage.java", "class Usage { String s = \"used.key\"; }\n");
+
+        List<String> keys = I18nKeyUsageSearch.findUnusedKeys(getProject()).stream()
+                .map(Property::getUnescapedKey)
+                .distinct()
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("order.title"), keys);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.index;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+/**
+ * I18nKeyWatcherTest
+ */
+public class I18nKeyWatcherTest extends BasePlatformTestCase {
+
+    private static final String TEXT =
+            "title=Title\n" +
+            "titles=Titles\n" +
+            "long.text=first \\\n" +
+            "    second \\\n" +
+            "    third\n" +
+            "path=c:\\\\\n" +
+            "next : value\n" +
+            "  indented value\n";
+
+    public void testKeyLine() {
+
+        Document document = createDocument(TEXT);
+        int title = TEXT.indexOf("Title");
+        assertTrue(I18nKeyWatcher.touchesKey(document, "title", title, title));
+        assertFalse(I18nKeyWatcher.touchesKey(document, "titles", title, title));
+
+        int titles = TEXT.indexOf("Titles");
+        assertTrue(I18nKeyWatcher.touchesKey(document, "titles", titles, titles));
+        assertFalse(I18nKeyWatcher.touchesKey(document, "title", titles, titles));
+
+        int next = TEXT.indexOf("value");
+        assertTrue(I18nKeyWatcher.touchesKey(document, "next", next, next));
+        assertFalse(I18nKeyWatcher.touchesKey(document, "next", TEXT.indexOf("indented"), TEXT.indexOf("indented")));
+    }
+
+    public void testContinuationLines() {
+
+        Document document = createDocument(TEXT);
+        int second = TEXT.indexOf("second");
+        int third = TEXT.indexOf("third");
+        assertTrue(I18nKeyWatcher.touchesKey(document, "long.text", second, second));
+        assertTrue(I18nKeyWatcher.touchesKey(document, "long.text", third, third + 5));
+        assertFalse(I18nKeyWatcher.touchesKey(document, "title", third, third));
+
+        // TIPS : an escaped backslash does not continue the line
+        int next = TEXT.indexOf("next");
+        assertFalse(I18nKeyWatcher.touchesKey(document, "path", next, next));
+        assertTrue(I18nKeyWatcher.touchesKey(document, "path", next - 1, next - 1));
+    }
+
+    public void testRangeOverManyLines() {
+
+        Document document = createDocument(TEXT);
+        assertTrue(I18nKeyWatcher.touchesKey(document, "long.text", 0, TEXT.indexOf("path")));
+        assertFalse(I18nKeyWatcher.touchesKey(document, "next", 0, TEXT.indexOf("path")));
+    }
+
+    public void testEscapedKeys() {
+
+        // keys needing escaping cannot be found by text search : always refreshed
+        Document document = createDocument(TEXT);
+        assertTrue(I18nKeyWatcher.touchesKey(document, "my key", 0, 0));
+        assertTrue(I18nKeyWatcher.touchesKey(document, "a=b", 0, 0));
+        assertTrue(I18nKeyWatcher.touchesKey(document, "caf\u00e9", 0, 0));
+        assertTrue(I18nKeyWatcher.touchesKey(document, "", 0, 0));
+    }
+
+    public void testEmptyDocument() {
+        assertFalse(I18nKeyWatcher.touchesKey(createDocument(""), "title", 0, 0));
+    }
+
+    private static Document createDocument(String text) {
+        return EditorFactory.getInstance().createDocument(text);
+    }
+}
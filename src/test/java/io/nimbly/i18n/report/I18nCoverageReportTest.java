@@ -0,0 +1,112 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I18nCoverageReportTest
+ */
+public class I18nCoverageReportTest {
+
+    @Test
+    public void testCoverage(@TempDir Path dir) throws IOException {
+
+        write(dir.resolve("messages.properties"), "title=Title\nsave=Save\ncancel=Cancel\nok=OK\n");
+        write(dir.resolve("messages_fr.properties"), "title=Titre\nsave=\ncancel=Cancel\n");
+        write(dir.resolve("messages_de.properties"), "title=Titel\nsave=Speichern\ncancel=Abbrechen\nok=OK\n");
+
+        List<I18nCoverageReport.BundleCoverage> coverages = new I18nCoverageReport("en").run(Collections.singletonList(dir));
+        assertEquals(1, coverages.size());
+
+        I18nCoverageReport.BundleCoverage bc = coverages.get(0);
+        assertEquals(dir.resolve("messages").toString(), bc.getBundle());
+        assertTrue(bc.hasMissing());
+        assertEquals(2, bc.getLocales().size());
+
+        I18nCoverageReport.LocaleCoverage de = bc.getLocales().get(0);
+        assertEquals("de", de.getLanguage());
+        assertEquals(4, de.getKeys());
+        assertEquals(Collections.emptyList(), de.getMissing());
+        assertEquals(Collections.emptyList(), de.getEmpty());
+        assertEquals(Collections.singletonList("ok"), de.getUntranslated());
+
+        I18nCoverageReport.LocaleCoverage fr = bc.getLocales().get(1);
+        assertEquals("fr", fr.getLanguage());
+        assertEquals(Collections.singletonList("ok"), fr.getMissing());
+        assertEquals(Collections.singletonList("save"), fr.getEmpty());
+        assertEquals(Collections.singletonList("cancel"), fr.getUntranslated());
+    }
+
+    @Test
+    public void testSourceLanguageAndIgnoredFiles(@TempDir Path dir) throws IOException {
+
+        write(dir.resolve("labels_en.properties"), "a=A\nb=B\n");
+        write(dir.resolve("labels_fr.properties"), "a=A fr\nb=B fr\n");
+        write(dir.resolve("application.properties"), "server.port=8080\n");
+        Files.createDirectories(dir.resolve("build"));
+        write(dir.resolve("build/labels_en.properties"), "a=A\n");
+        write(dir.resolve("build/labels_it.properties"), "\n");
+
+        List<I18nCoverageReport.BundleCoverage> coverages = new I18nCoverageReport("en").run(Collections.singletonList(dir));
+        assertEquals(1, coverages.size());
+        assertFalse(coverages.get(0).hasMissing());
+
+        I18nCoverageReport.LocaleCoverage fr = coverages.get(0).getLocales().get(0);
+        assertEquals("fr", fr.getLanguage());
+        assertEquals(2, fr.getKeys());
+        assertTrue(fr.getMissing().isEmpty() && fr.getEmpty().isEmpty() && fr.getUntranslated().isEmpty());
+    }
+
+    @Test
+    public void testCheckoutUnderOutputFolder(@TempDir Path tmp) throws IOException {
+
+        // TIPS : CI agents often checkout under a 'build' folder
+        Path dir = tmp.resolve("build/checkout");
+        Path pack = dir.resolve("src/main/resources/io/out");
+        Files.createDirectories(pack);
+        write(pack.resolve("labels_en.properties"), "a=A\n");
+        write(pack.resolve("labels_fr.properties"), "b=B\n");
+
+        List<I18nCoverageReport.BundleCoverage> coverages = new I18nCoverageReport("en").run(Collections.singletonList(dir));
+        assertEquals(1, coverages.size());
+        assertTrue(coverages.get(0).hasMissing());
+    }
+
+    @Test
+    public void testIsBuildOutput() {
+        assertTrue(I18nCoverageReport.isBuildOutput(Paths.get("build/resources/main/labels_fr.properties")));
+        assertTrue(I18nCoverageReport.isBuildOutput(Paths.get("module/target/classes/labels_fr.properties")));
+        assertTrue(I18nCoverageReport.isBuildOutput(Paths.get("out/production/labels_fr.properties")));
+        assertFalse(I18nCoverageReport.isBuildOutput(Paths.get("src/main/resources/out/labels_fr.properties")));
+        assertFalse(I18nCoverageReport.isBuildOutput(Paths.get("labels_fr.properties")));
+        assertFalse(I18nCoverageReport.isBuildOutput(Paths.get("outbox/labels_fr.properties")));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BatchTranslatorTest
+ */
+public class BatchTranslatorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testOneCallPerTargetLanguage() throws IOException {
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("hello.title", "Hello");
+        sources.put("hello.label", "Hello");
+        sources.put("bye", "Bye");
+
+        BatchTranslator translator = new BatchTranslator(new TranslationScheduler(executor), dictionary());
+        Map<String, Map<String, String>> result = translator.translate("en", sources, Arrays.asList("fr", "en", "de"), null);
+
+        // identical texts are sent once, source language is skipped
+        assertEquals(new HashSet<>(Arrays.asList("en>fr [Hello, Bye]", "en>de [Hello, Bye]")), new HashSet<>(calls));
+
+        assertEquals(Arrays.asList("fr", "de"), new ArrayList<>(result.keySet()));
+        assertEquals("Bonjour", result.get("fr").get("hello.title"));
+        assertEquals("Bonjour", result.get("fr").get("hello.label"));
+        assertEquals("Au revoir", result.get("fr").get("bye"));
+        assertTrue(result.get("de").isEmpty());
+    }
+
+    @Test
+    public void testRetryWithKeys() throws IOException {
+
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put("hello", "Hello");
+        sources.put("button.ok", "OK");
+
+        BatchTranslator translator = new BatchTranslator(new TranslationScheduler(executor), dictionary());
+        Map<String, String> result = TranslationScheduler.await(translator.translateAsync("en", sources, "fr"));
+
+        // untranslated texts are sent again as keys, in one call
+        assertEquals(Arrays.asList("en>fr [Hello, OK]", "en>fr [Button ok]"), calls);
+        assertEquals("Bonjour", result.get("hello"));
+        assertEquals("Bouton ok", result.get("button.ok"));
+    }
+
+    private TranslationBackend dictionary() {
+
+        Map<String, String> fr = new HashMap<>();
+        fr.put("Hello", "bonjour");
+        fr.put("Bye", "au revoir");
+        fr.put("OK", "OK");
+        fr.put("Button ok", "bouton ok");
+
+        return (sourceLanguage, targetLanguage, texts) -> {
+            calls.add(sourceLanguage + ">" + targetLanguage + " " + texts);
+            List<String> list = new ArrayList<>();
+            for (String text : texts)
+                list.add("fr".equals(targetLanguage) ? fr.get(text) : null);
+            return list;
+        };
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GlossaryTranslationBackendTest
+ */
+public class GlossaryTranslationBackendTest {
+
+    @Test
+    public void testTsv(@TempDir Path dir) throws IOException {
+
+        Path file = write(dir.resolve("glossary.tsv"), "en\tfr-FR\tde\nSave\tEnregistrer\tSpeichern\nCancel\tAnnuler\t\n");
+        GlossaryTranslationBackend backend = new GlossaryTranslationBackend(file);
+
+        assertEquals(Arrays.asList("Enregistrer", "Annuler", null),
+                backend.translate("en", "fr", Arrays.asList("Save", " Cancel ", "Open")));
+        assertEquals(Arrays.asList("Speichern", null),
+                backend.translate("en", "de", Arrays.asList("Save", "Cancel")));
+        assertEquals(Collections.singletonList(null),
+                backend.translate("en", "ja", Collections.singletonList("Save")));
+    }
+
+    @Test
+    public void testTmx(@TempDir Path dir) throws IOException {
+
+        Path file = write(dir.resolve("glossary.tmx"),
+                "<tmx version=\"1.4\"><body>\n" +
+                "<tu><tuv xml:lang=\"en\"><seg>Save <ph>%s</ph>file</seg></tuv><tuv xml:lang=\"fr\"><seg>Enregistrer le fichier</seg></tuv></tu>\n" +
+                "<tu><tuv xml:lang=\"en\"><seg>Cancel</seg></tuv><tuv xml:lang=\"fr\"><seg>Annuler</seg></tuv></tu>\n" +
+                "</body></tmx>");
+        GlossaryTranslationBackend backend = new GlossaryTranslationBackend(file);
+
+        assertEquals(Arrays.asList("Enregistrer le fichier", "Annuler"),
+                backend.translate("en", "fr_FR", Arrays.asList("Save file", "Cancel")));
+    }
+
+    @Test
+    public void testFileCheckedAtMostOncePerDelay(@TempDir Path dir) throws IOException {
+
+        Path file = write(dir.resolve("glossary.tsv"), "en\tfr\nSave\tEnregistrer\n");
+        GlossaryTranslationBackend backend = new GlossaryTranslationBackend(file, TimeUnit.HOURS.toNanos(1));
+        assertEquals(Collections.singletonList("Enregistrer"), backend.translate("en", "fr", Collections.singletonList("Save")));
+
+        write(file, "en\tfr\nSave\tSauvegarder\n");
+        assertEquals(Collections.singletonList("Enregistrer"), backend.translate("en", "fr", Collections.singletonList("Save")));
+    }
+
+    @Test
+    public void testReloadWhenModified(@TempDir Path dir) throws IOException {
+
+        Path file = write(dir.resolve("glossary.tsv"), "en\tfr\nSave\tEnregistrer\n");
+        GlossaryTranslationBackend backend = new GlossaryTranslationBackend(file, 0);
+        assertEquals(Collections.singletonList("Enregistrer"), backend.translate("en", "fr", Collections.singletonList("Save")));
+
+        write(file, "en\tfr\nSave\tSauvegarder\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertEquals(Collections.singletonList("Sauvegarder"), backend.translate("en", "fr", Collections.singletonList("Save")));
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
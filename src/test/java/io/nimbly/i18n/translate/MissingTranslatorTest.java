@@ -0,0 +1,67 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MissingTranslatorTest
+ */
+public class MissingTranslatorTest {
+
+    @Test
+    public void testBatchesBySourceAndTargetLanguages() {
+
+        List<MissingTranslator.Entry> entries = new ArrayList<>();
+        entries.add(new MissingTranslator.Entry("a", "fr", "en", "A"));
+        entries.add(new MissingTranslator.Entry("a", "de", "en", "A"));
+        entries.add(new MissingTranslator.Entry("b", "fr", "en", "B"));
+        entries.add(new MissingTranslator.Entry("c", "fr", "de", "C"));
+        entries.add(new MissingTranslator.Entry("d", "de", "en", "D"));
+
+        List<List<MissingTranslator.Entry>> batches = MissingTranslator.batches(entries);
+        assertEquals(3, batches.size());
+        assertEquals("en>fr [a, b]", describe(batches.get(0)));
+        assertEquals("en>de [a, d]", describe(batches.get(1)));
+        assertEquals("de>fr [c]", describe(batches.get(2)));
+    }
+
+    @Test
+    public void testBatchSize() {
+
+        List<MissingTranslator.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < MissingTranslator.BATCH_SIZE * 2 + 1; i++)
+            entries.add(new MissingTranslator.Entry("key" + i, "fr", "en", "Text " + i));
+
+        List<List<MissingTranslator.Entry>> batches = MissingTranslator.batches(entries);
+        assertEquals(3, batches.size());
+        assertEquals(MissingTranslator.BATCH_SIZE, batches.get(0).size());
+        assertEquals(MissingTranslator.BATCH_SIZE, batches.get(1).size());
+        assertEquals(1, batches.get(2).size());
+        assertEquals("key" + MissingTranslator.BATCH_SIZE * 2, batches.get(2).get(0).getKey());
+    }
+
+    private static String describe(List<MissingTranslator.Entry> batch) {
+        List<String> keys = new ArrayList<>();
+        for (MissingTranslator.Entry e : batch)
+            keys.add(e.getKey());
+        return batch.get(0).getSourceLanguage() + ">" + batch.get(0).getLanguage() + " " + keys;
+    }
+}
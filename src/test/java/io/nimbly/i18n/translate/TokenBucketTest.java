@@ -0,0 +1,77 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TokenBucketTest
+ */
+public class TokenBucketTest {
+
+    @Test
+    public void testBurstThenWait() {
+
+        TokenBucket bucket = new TokenBucket(3, 1);
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+
+        // about one second to wait for next token
+        long wait = bucket.tryAcquire();
+        assertTrue(wait > 500_000_000L && wait <= 1_000_000_000L, "wait " + wait);
+    }
+
+    @Test
+    public void testRefill() throws InterruptedException {
+
+        TokenBucket bucket = new TokenBucket(1, 1000);
+        assertEquals(0, bucket.tryAcquire());
+        Thread.sleep(20);
+        assertEquals(0, bucket.tryAcquire());
+    }
+
+    @Test
+    public void testMemoryHitsAreNotThrottled(@TempDir Path dir) throws IOException {
+
+        List<String> called = new ArrayList<>();
+        TranslationBackend remote = (sourceLanguage, targetLanguage, texts) -> {
+            called.addAll(texts);
+            List<String> list = new ArrayList<>();
+            for (String text : texts)
+                list.add(text.toUpperCase());
+            return list;
+        };
+
+        // a single token, next one in about 1000 seconds
+        TokenBucket bucket = new TokenBucket(1, 0.001);
+        TranslationMemory memory = new TranslationMemory(dir.resolve("memory.bin"), 10);
+        TranslationBackend backend = new CachingTranslationBackend(new RateLimitedTranslationBackend(remote, bucket), memory);
+
+        assertEquals(Collections.singletonList("HELLO"), backend.translate("en", "fr", Collections.singletonList("hello")));
+        assertEquals(Collections.singletonList("HELLO"), backend.translate("en", "fr", Collections.singletonList("hello")));
+        assertEquals(Collections.singletonList("hello"), called);
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TranslationMemoryTest
+ */
+public class TranslationMemoryTest {
+
+    @Test
+    public void testNormalizedKeys(@TempDir Path dir) {
+
+        TranslationMemory memory = new TranslationMemory(dir.resolve("memory.bin"), 10);
+        memory.put("en", "fr", "  Hello \n world ", "Bonjour le monde");
+
+        assertEquals("Bonjour le monde", memory.get("en", "fr", "Hello world"));
+        assertNull(memory.get("en", "de", "Hello world"));
+        assertEquals(1, memory.getHits());
+        assertEquals(1, memory.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction(@TempDir Path dir) {
+
+        TranslationMemory memory = new TranslationMemory(dir.resolve("memory.bin"), 2);
+        memory.put("en", "fr", "one", "un");
+        memory.put("en", "fr", "two", "deux");
+        memory.get("en", "fr", "one");
+        memory.put("en", "fr", "three", "trois");
+
+        assertEquals(2, memory.size());
+        assertEquals("un", memory.get("en", "fr", "one"));
+        assertNull(memory.get("en", "fr", "two"));
+        assertEquals("trois", memory.get("en", "fr", "three"));
+    }
+
+    @Test
+    public void testSaveAndLoad(@TempDir Path dir) {
+
+        Path file = dir.resolve("memory.bin");
+        TranslationMemory memory = new TranslationMemory(file, 10);
+        memory.put("en", "fr", "Hello", "Bonjour");
+        memory.put("en", "ja", "Hello", "\u3053\u3093\u306b\u3061\u306f");
+        memory.save();
+
+        assertTrue(Files.exists(file));
+        assertFalse(Files.exists(dir.resolve("memory.bin.tmp")));
+
+        TranslationMemory loaded = new TranslationMemory(file, 10);
+        assertEquals(2, loaded.size());
+        assertEquals("Bonjour", loaded.get("en", "fr", "Hello"));
+        assertEquals("\u3053\u3093\u306b\u3061\u306f", loaded.get("en", "ja", "Hello"));
+    }
+
+    @Test
+    public void testSaveEntryOver64KB(@TempDir Path dir) {
+
+        // 3 bytes per char in utf-8 : over the 64 KB limit of writeUTF
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 30_000; i++)
+            sb.append('\u20ac');
+        String text = sb.toString();
+
+        Path file = dir.resolve("memory.bin");
+        TranslationMemory memory = new TranslationMemory(file, 10);
+        memory.put("en", "fr", "Hello", "Bonjour");
+        memory.put("en", "fr", text, text);
+        memory.save();
+
+        TranslationMemory loaded = new TranslationMemory(file, 10);
+        assertEquals("Bonjour", loaded.get("en", "fr", "Hello"));
+        assertEquals(text, loaded.get("en", "fr", text));
+    }
+}
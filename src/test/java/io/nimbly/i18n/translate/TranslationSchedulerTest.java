@@ -0,0 +1,108 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.translate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TranslationSchedulerTest
+ */
+public class TranslationSchedulerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final ScheduledExecutorService retryExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final TranslationScheduler scheduler = new TranslationScheduler(executor, retryExecutor);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        retryExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testTransientFailureIsRetried() throws IOException {
+
+        AtomicInteger calls = new AtomicInteger();
+        TranslationBackend backend = (s, t, texts) -> {
+            if (calls.incrementAndGet() == 1)
+                throw new TranslationHttpException(503, "Service Unavailable");
+            return Collections.singletonList("Bonjour");
+        };
+
+        assertEquals("Bonjour", TranslationScheduler.await(scheduler.translate(backend, "en", "fr", "Hello")));
+        assertEquals(2, calls.get());
+        assertEquals(1, scheduler.getStats().getRetried());
+        assertEquals(1, scheduler.getStats().getCompleted());
+    }
+
+    @Test
+    public void testClientErrorIsNotRetried() {
+
+        AtomicInteger calls = new AtomicInteger();
+        TranslationBackend backend = (s, t, texts) -> {
+            calls.incrementAndGet();
+            throw new TranslationHttpException(400, "Bad Request");
+        };
+
+        TranslationHttpException e = assertThrows(TranslationHttpException.class,
+                () -> TranslationScheduler.await(scheduler.translate(backend, "en", "fr", "Hello")));
+        assertEquals(400, e.getStatusCode());
+        assertEquals(1, calls.get());
+        assertEquals(0, scheduler.getStats().getRetried());
+        assertEquals(1, scheduler.getStats().getFailed());
+    }
+
+    @Test
+    public void testIsTransient() {
+        assertTrue(TranslationScheduler.isTransient(new TranslationHttpException(429, null)));
+        assertTrue(TranslationScheduler.isTransient(new TranslationHttpException(502, null)));
+        assertTrue(TranslationScheduler.isTransient(new SocketTimeoutException()));
+        assertFalse(TranslationScheduler.isTransient(new TranslationHttpException(403, null)));
+        assertFalse(TranslationScheduler.isTransient(new UnknownHostException()));
+        assertFalse(TranslationScheduler.isTransient(new IOException()));
+    }
+
+    @Test
+    public void testIdenticalRequestsAreSentOnce() throws IOException {
+
+        AtomicInteger calls = new AtomicInteger();
+        TranslationBackend backend = (s, t, texts) -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.singletonList("Bonjour");
+        };
+
+        List<String> texts = Collections.singletonList("Hello");
+        assertSame(scheduler.translate(backend, "en", "fr", texts), scheduler.translate(backend, "en", "fr", texts));
+        assertEquals(Collections.singletonList("Bonjour"), TranslationScheduler.await(scheduler.translate(backend, "en", "fr", texts)));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * I18nBulkOperationTest
+ */
+public class I18nBulkOperationTest extends BasePlatformTestCase {
+
+    public void testApply() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("messages.properties",
+                "order.form.title=Form\n" +
+                "order.title=Order\n" +
+                "save=Save\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("messages_fr.properties",
+                "order.form.title=Formulaire\n" +
+                "order.title=Commande\n" +
+                "save=Enregistrer\n");
+
+        new I18nBulkOperation()
+                .renamePrefix("order.form.", "checkout.form.")
+                .delete("order.title")
+                .create("cancel", "fr", "Annuler")
+                .update("save", "fr", "Sauvegarder")
+                .update("create", "fr", "Cr\u00e9er")
+                .apply(fr.getResourceBundle(), getProject());
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("checkout.form.title", "Form");
+        expected.put("save", "Save");
+        expected.put("cancel", "");
+        assertEquals(expected, values(main));
+
+        expected.clear();
+        expected.put("checkout.form.title", "Formulaire");
+        expected.put("save", "Sauvegarder");
+        expected.put("cancel", "Annuler");
+        expected.put("create", "Cr\u00e9er");
+        assertEquals(expected, values(fr));
+        assertTrue(fr.getContainingFile().getText().contains("create=Cr\\u00e9er"));
+    }
+
+    public void testEmpty() {
+
+        I18nBulkOperation operation = new I18nBulkOperation()
+                .rename("save", "save")
+                .renamePrefix("order.", "order.");
+        assertTrue(operation.isEmpty());
+        assertFalse(operation.delete("save").isEmpty());
+    }
+
+    private static Map<String, String> values(PropertiesFile pf) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (IProperty p : pf.getProperties())
+            map.put(p.getUnescapedKey(), p.getUnescapedValue());
+        return map;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I18nLocaleTest
+ */
+public class I18nLocaleTest {
+
+    @Test
+    public void testLanguageAndRegion() {
+
+        I18nLocale locale = I18nLocale.parse("Messages_fr_FR.properties");
+        assertNotNull(locale);
+        assertEquals("Messages", locale.getBaseName());
+        assertEquals("fr", locale.getLanguage());
+        assertEquals("FR", locale.getRegion());
+        assertNull(locale.getScript());
+        assertNull(locale.getVariant());
+        assertEquals("fr_FR", locale.getTag());
+        assertEquals(Locale.FRANCE, locale.toLocale());
+    }
+
+    @Test
+    public void testScript() {
+
+        I18nLocale locale = I18nLocale.parse("Messages_zh_Hans_CN.properties");
+        assertNotNull(locale);
+        assertEquals("Messages", locale.getBaseName());
+        assertEquals("zh", locale.getLanguage());
+        assertEquals("Hans", locale.getScript());
+        assertEquals("CN", locale.getRegion());
+        assertEquals("zh_Hans_CN", locale.getTag());
+    }
+
+    @Test
+    public void testVariant() {
+
+        I18nLocale locale = I18nLocale.parse("Messages_de_CH_1901.properties");
+        assertNotNull(locale);
+        assertEquals("de", locale.getLanguage());
+        assertEquals("CH", locale.getRegion());
+        assertEquals("1901", locale.getVariant());
+
+        locale = I18nLocale.parse("Messages_en_US_POSIX.properties");
+        assertNotNull(locale);
+        assertEquals("POSIX", locale.getVariant());
+        assertEquals("en_US_POSIX", locale.getTag());
+    }
+
+    @Test
+    public void testBaseNameWithUnderscores() {
+
+        I18nLocale locale = I18nLocale.parse("my_app_en.properties");
+        assertNotNull(locale);
+        assertEquals("my_app", locale.getBaseName());
+        assertEquals("en", locale.getLanguage());
+        assertNull(locale.getVariant());
+
+        locale = I18nLocale.parse("my_app_messages_pt_BR.properties");
+        assertNotNull(locale);
+        assertEquals("my_app_messages", locale.getBaseName());
+        assertEquals("pt_BR", locale.getTag());
+    }
+
+    @Test
+    public void testNonStandardNames() {
+
+        assertNull(I18nLocale.parse("Messages.properties"));
+        assertNull(I18nLocale.parse("Messages_.properties"));
+
+        I18nLocale locale = I18nLocale.parse("Messages_default.properties");
+        assertNotNull(locale);
+        assertEquals("Messages", locale.getBaseName());
+        assertEquals("default", locale.getTag());
+    }
+
+    @Test
+    public void testParseTag() {
+
+        I18nLocale locale = I18nLocale.parseTag("zh_Hant_TW");
+        assertNotNull(locale);
+        assertEquals("zh", locale.getLanguage());
+        assertEquals("Hant", locale.getScript());
+        assertEquals("TW", locale.getRegion());
+
+        assertNull(I18nLocale.parseTag("default"));
+    }
+}
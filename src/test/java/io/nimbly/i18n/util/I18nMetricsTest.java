@@ -0,0 +1,86 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * I18nMetricsTest
+ */
+public class I18nMetricsTest {
+
+    @Test
+    public void testBucketBounds() {
+
+        I18nMetrics.Timer timer = new I18nMetrics.Timer("test");
+        timer.record(TimeUnit.MICROSECONDS.toNanos(999));  // < 1
+        timer.record(TimeUnit.MILLISECONDS.toNanos(1));    // < 2, bound is exclusive
+        timer.record(TimeUnit.MICROSECONDS.toNanos(4999)); // < 5
+        timer.record(TimeUnit.MILLISECONDS.toNanos(999));  // < 1000
+        timer.record(TimeUnit.MILLISECONDS.toNanos(5000)); // >= 5000
+        timer.record(TimeUnit.MINUTES.toNanos(1));         // >= 5000
+
+        long[] histogram = timer.getHistogram();
+        assertEquals(I18nMetrics.BOUNDS.length + 1, histogram.length);
+        assertArrayEquals(new long[]{1, 1, 1, 0, 0, 0, 0, 0, 0, 1, 0, 0, 2}, histogram);
+        assertEquals(6, timer.getCount());
+    }
+
+    @Test
+    public void testPercentiles() {
+
+        I18nMetrics.Timer timer = new I18nMetrics.Timer("test");
+        for (int i = 0; i < 90; i++)
+            timer.record(TimeUnit.MICROSECONDS.toNanos(500));
+        for (int i = 0; i < 9; i++)
+            timer.record(TimeUnit.MILLISECONDS.toNanos(30));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(150));
+
+        // percentile is the upper bound of the bucket holding the rank
+        assertEquals(1, timer.getPercentile(0.50), 1e-9);
+        assertEquals(1, timer.getPercentile(0.90), 1e-9);
+        assertEquals(50, timer.getPercentile(0.91), 1e-9);
+        assertEquals(50, timer.getPercentile(0.99), 1e-9);
+        assertEquals(200, timer.getPercentile(1.0), 1e-9);
+
+        assertEquals(150, timer.getMax(), 1e-9);
+        assertEquals((90 * 0.5 + 9 * 30 + 150) / 100, timer.getAverage(), 1e-9);
+    }
+
+    @Test
+    public void testUnboundedBucketPercentileIsMax() {
+
+        I18nMetrics.Timer timer = new I18nMetrics.Timer("test");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(3));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(12000));
+
+        assertEquals(5, timer.getPercentile(0.50), 1e-9);
+        assertEquals(12000, timer.getPercentile(0.95), 1e-9);
+    }
+
+    @Test
+    public void testEmptyTimer() {
+
+        I18nMetrics.Timer timer = new I18nMetrics.Timer("test");
+        assertEquals(0, timer.getCount());
+        assertEquals(0, timer.getPercentile(0.95), 1e-9);
+        assertEquals(0, timer.getAverage(), 1e-9);
+        assertEquals(0, timer.getMax(), 1e-9);
+    }
+}
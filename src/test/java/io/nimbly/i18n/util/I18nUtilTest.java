@@ -0,0 +1,175 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.lang.properties.IProperty;
+import com.intellij.lang.properties.ResourceBundle;
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.command.impl.UndoManagerImpl;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.fileEditor.FileEditor;
+import com.intellij.openapi.fileEditor.impl.text.TextEditorProvider;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * I18nUtilTest
+ */
+public class I18nUtilTest extends BasePlatformTestCase {
+
+    public void testKeyOfDefaultFileIsFoundByIndex() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("messages.properties",
+                "title=Title\n" +
+                "only.default=Default\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("messages_fr.properties",
+                "title=Titre\n");
+
+        List<IProperty> properties = I18nUtil.getPsiProperties("only.default", null, getModule());
+        assertEquals(1, properties.size());
+        assertEquals("Default", properties.get(0).getValue());
+        assertEquals(main, I18nUtil.getBestPropertiesFile("only.default", getModule()));
+
+        // TIPS : bundle order is kept
+        assertEquals(main.getResourceBundle().getPropertiesFiles(), I18nUtil.getIndexedPropertiesFiles("title", null, getModule()));
+        assertEquals(Arrays.asList(fr), I18nUtil.getIndexedPropertiesFiles("title", "fr", getModule()));
+    }
+
+    public void testPreferedTranslationFallbackAndRefresh() {
+
+        myFixture.addFileToProject("labels.properties", "title=Title\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+
+        assertEquals("Titre", I18nUtil.getPreferedTranslation("order.form.title", "FR", getModule()));
+        assertNull(I18nUtil.getPreferedTranslation("order.form.name", "fr", getModule()));
+
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> fr.addProperty("form.name", "Nom"));
+        assertEquals("Nom", I18nUtil.getPreferedTranslation("order.form.name", "fr", getModule()));
+    }
+
+    public void testConcurrentBestFileSameAsSequentialScan() throws IOException {
+
+        PropertiesFile b0 = (PropertiesFile) myFixture.addFileToProject("b0.properties", "shared=Shared\n");
+        myFixture.addFileToProject("b0_fr.properties", "shared=Commun\n");
+        myFixture.addFileToProject("b1.properties", "b1=B1\n");
+        PropertiesFile b1 = (PropertiesFile) myFixture.addFileToProject("b1_fr.properties", "ro=Lecture\nmixed=Mixte\n");
+        myFixture.addFileToProject("b2.properties", "b2=B2\n");
+        PropertiesFile b2 = (PropertiesFile) myFixture.addFileToProject("b2_fr.properties", "ro=Lecture\n");
+        PropertiesFile b3 = (PropertiesFile) myFixture.addFileToProject("b3.properties", "mixed=Mixed\nshared=Shared\n");
+        myFixture.addFileToProject("b3_fr.properties", "mixed=Mixte\n");
+        myFixture.addFileToProject("b4.properties", "b4=B4\n");
+        myFixture.addFileToProject("b4_fr.properties", "b4=B4\n");
+        myFixture.addFileToProject("b5.properties", "b5=B5\n");
+        PropertiesFile b5 = (PropertiesFile) myFixture.addFileToProject("b5_fr.properties", "late=Tard\n");
+
+        WriteAction.run(() -> {
+            b1.getVirtualFile().setWritable(false);
+            b2.getVirtualFile().setWritable(false);
+        });
+
+        List<ResourceBundle> bundles = I18nUtil.getResourceBundles(getModule());
+        assertTrue(bundles.size() >= 6);
+
+        ReadAction.run(() -> {
+
+            // TIPS : first writable file following bundles order, else last file found
+            assertEquals(b0, I18nUtil.findBestPropertiesFile("shared", bundles));
+            assertEquals(b3, I18nUtil.findBestPropertiesFile("mixed", bundles));
+            assertEquals(b2, I18nUtil.findBestPropertiesFile("ro", bundles));
+            assertEquals(b5, I18nUtil.findBestPropertiesFile("late", bundles));
+            assertNull(I18nUtil.findBestPropertiesFile("missing", bundles));
+
+            for (String key : Arrays.asList("shared", "mixed", "ro", "late", "missing", "b1", "b2", "b4"))
+                assertEquals(key, sequentialBestPropertiesFile(key, bundles), I18nUtil.findBestPropertiesFile(key, bundles));
+        });
+    }
+
+    public void testEditsOfOneGroupAreUndoneAtOnce() {
+
+        myFixture.addFileToProject("labels.properties", "title=Title\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+        PropertiesFile de = (PropertiesFile) myFixture.addFileToProject("labels_de.properties", "title=Titel\n");
+
+        myFixture.configureFromExistingVirtualFile(fr.getVirtualFile());
+        FileEditor editor = TextEditorProvider.getInstance().getTextEditor(myFixture.getEditor());
+
+        // TIPS : edits of one editing session share the group id
+        Object session = new Object();
+        I18nUtil.doUpdateTranslations("title", values(fr, "Titre 1", de, "Titel 1"), getProject(), session);
+        I18nUtil.doUpdateTranslations("title", values(fr, "Titre 12", null, null), getProject(), session);
+        assertEquals("Titre 12", fr.findPropertyByKey("title").getValue());
+        assertEquals("Titel 1", de.findPropertyByKey("title").getValue());
+
+        I18nUtil.doUpdateTranslations("title", values(fr, "Titre 2", null, null), getProject(), new Object());
+
+        boolean neverAsk = UndoManagerImpl.ourNeverAskUser;
+        UndoManagerImpl.ourNeverAskUser = true;
+        try {
+            UndoManager undoManager = UndoManager.getInstance(getProject());
+
+            // another session : undone alone
+            undoManager.undo(editor);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+            assertEquals("Titre 12", fr.findPropertyByKey("title").getValue());
+            assertEquals("Titel 1", de.findPropertyByKey("title").getValue());
+
+            // whole session, all languages, in one step
+            undoManager.undo(editor);
+            PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+            assertEquals("Titre", fr.findPropertyByKey("title").getValue());
+            assertEquals("Titel", de.findPropertyByKey("title").getValue());
+        }
+        finally {
+            UndoManagerImpl.ourNeverAskUser = neverAsk;
+        }
+    }
+
+    private static Map<PropertiesFile, String> values(PropertiesFile file1, String value1, PropertiesFile file2, String value2) {
+        Map<PropertiesFile, String> values = new LinkedHashMap<>();
+        values.put(file1, value1);
+        if (file2 != null)
+            values.put(file2, value2);
+        return values;
+    }
+
+    /**
+     * Best properties file as found before, scanning bundles one after the other
+     */
+    private static PropertiesFile sequentialBestPropertiesFile(String key, List<ResourceBundle> bundles) {
+        PropertiesFile propertiesFile = null;
+        for (ResourceBundle bundle : bundles) {
+            for (PropertiesFile pf : bundle.getPropertiesFiles()) {
+
+                if (pf.findPropertyByKey(key) == null)
+                    continue;
+
+                if (pf.getVirtualFile().isWritable())
+                    return pf;
+
+                propertiesFile = pf;
+            }
+        }
+        return propertiesFile;
+    }
+}
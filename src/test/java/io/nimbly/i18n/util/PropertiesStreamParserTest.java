@@ -0,0 +1,112 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PropertiesStreamParserTest
+ */
+public class PropertiesStreamParserTest {
+
+    @Test
+    public void testKeysAndValues() {
+
+        List<String> properties = parse(
+                "# comment\n" +
+                "! other comment\n" +
+                "\n" +
+                "a=1\n" +
+                "b : 2\n" +
+                "c 3\n" +
+                "  d=\n" +
+                "my\\ key=value with \\\n" +
+                "    continuation\n" +
+                "tab=\\t\\n\\u00e9\n", StandardCharsets.ISO_8859_1);
+
+        assertEquals(6, properties.size());
+        assertEquals("a=1", properties.get(0));
+        assertEquals("b=2", properties.get(1));
+        assertEquals("c=3", properties.get(2));
+        assertEquals("d=", properties.get(3));
+        assertEquals("my key=value with continuation", properties.get(4));
+        assertEquals("tab=\t\n\u00e9", properties.get(5));
+    }
+
+    @Test
+    public void testAsciiOffsets() {
+
+        List<Integer> offsets = offsets("abc=1\nkey2=2\r\n  key3 = 3\n", StandardCharsets.ISO_8859_1);
+        assertEquals(List.of(0, 6, 16), offsets);
+    }
+
+    @Test
+    public void testMultiByteOffsets() {
+
+        // e acute is 2 bytes and euro sign is 3 bytes in utf-8
+        List<Integer> offsets = offsets("\u00e9t\u00e9=summer\n\u20ac=euro\nkey=\u20ac\nlast=1", StandardCharsets.UTF_8);
+        assertEquals(List.of(0, 13, 22, 30), offsets);
+    }
+
+    @Test
+    public void testUtf8Decoding() {
+
+        List<String> properties = parse("\u00e9t\u00e9=\u20ac \ud83d\ude00\n", StandardCharsets.UTF_8);
+        assertEquals(List.of("\u00e9t\u00e9=\u20ac \ud83d\ude00"), properties);
+    }
+
+    @Test
+    public void testParseFile(@TempDir Path dir) throws IOException {
+
+        Path file = dir.resolve("messages_fr.properties");
+        Files.write(file, "hello=Bonjour\nbye=Au revoir\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        List<String> properties = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        PropertiesStreamParser.parse(file, StandardCharsets.ISO_8859_1, (key, value, offset) -> {
+            properties.add(key + "=" + value);
+            offsets.add(offset);
+        });
+
+        assertEquals(List.of("hello=Bonjour", "bye=Au revoir"), properties);
+        assertEquals(List.of(0, 14), offsets);
+    }
+
+    private static List<String> parse(String content, Charset charset) {
+        List<String> properties = new ArrayList<>();
+        PropertiesStreamParser.parse(ByteBuffer.wrap(content.getBytes(charset)), charset,
+                (key, value, offset) -> properties.add(key + "=" + value));
+        return properties;
+    }
+
+    private static List<Integer> offsets(String content, Charset charset) {
+        List<Integer> offsets = new ArrayList<>();
+        PropertiesStreamParser.parse(ByteBuffer.wrap(content.getBytes(charset)), charset,
+                (key, value, offset) -> offsets.add(offset));
+        return offsets;
+    }
+}
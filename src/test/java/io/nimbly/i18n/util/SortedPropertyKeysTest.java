@@ -0,0 +1,136 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import com.intellij.lang.properties.IProperty;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SortedPropertyKeysTest
+ */
+public class SortedPropertyKeysTest {
+
+    @Test
+    public void testSortedFile() {
+
+        List<IProperty> properties = properties("a", "c", "e", "g");
+        SortedPropertyKeys keys = new SortedPropertyKeys(properties);
+        assertEquals(4, keys.size());
+
+        assertNull(keys.findAnchor("0"));
+        assertSame(properties.get(0), keys.findAnchor("b"));
+        assertSame(properties.get(1), keys.findAnchor("c"));
+        assertSame(properties.get(2), keys.findAnchor("f"));
+        assertSame(properties.get(3), keys.findAnchor("z"));
+    }
+
+    @Test
+    public void testEmptyFile() {
+
+        SortedPropertyKeys keys = new SortedPropertyKeys(Collections.emptyList());
+        assertNull(keys.findAnchor("a"));
+    }
+
+    @Test
+    public void testUnsortedFile() {
+
+        // TIPS : linear walk stops at 'm', even if smaller keys follow
+        List<IProperty> properties = properties("b", "m", "a", "c", "z", "d");
+        SortedPropertyKeys keys = new SortedPropertyKeys(properties);
+        for (String key : Arrays.asList("0", "a", "b", "ba", "c", "l", "m", "n", "y", "z", "zz"))
+            assertSame(linearAnchor(properties, key), keys.findAnchor(key), key);
+    }
+
+    @Test
+    public void testSameAnchorAsLinearWalk() {
+
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+
+            List<String> names = new ArrayList<>();
+            int size = random.nextInt(30);
+            for (int i = 0; i < size; i++)
+                names.add(randomKey(random));
+
+            // mostly sorted files, as usual, with some keys out of order
+            if (random.nextBoolean())
+                Collections.sort(names);
+            if (size > 1 && random.nextBoolean())
+                Collections.swap(names, random.nextInt(size), random.nextInt(size));
+
+            List<IProperty> properties = properties(names.toArray(new String[0]));
+            SortedPropertyKeys keys = new SortedPropertyKeys(properties);
+            for (int i = 0; i < 20; i++) {
+                String key = random.nextBoolean() && size > 0 ? names.get(random.nextInt(size)) : randomKey(random);
+                assertSame(linearAnchor(properties, key), keys.findAnchor(key), names + " <- " + key);
+            }
+        }
+    }
+
+    /**
+     * Insertion point as found before, walking all properties
+     */
+    private static IProperty linearAnchor(List<IProperty> properties, String key) {
+        IProperty best = null;
+        for (IProperty p : properties) {
+            if (p.getUnescapedKey().compareTo(key) > 0)
+                break;
+            best = p;
+        }
+        return best;
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 1 + random.nextInt(3);
+        for (int i = 0; i < length; i++)
+            sb.append((char) ('a' + random.nextInt(5)));
+        return sb.toString();
+    }
+
+    private static List<IProperty> properties(String... keys) {
+        List<IProperty> list = new ArrayList<>();
+        for (String key : keys)
+            list.add(property(key));
+        return list;
+    }
+
+    private static IProperty property(String key) {
+        return (IProperty) Proxy.newProxyInstance(IProperty.class.getClassLoader(), new Class[]{IProperty.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUnescapedKey":
+                            return key;
+                        case "toString":
+                            return key;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UnicodeEscapeTest
+ */
+public class UnicodeEscapeTest {
+
+    private static final List<String> VALUES = Arrays.asList(
+            "",
+            "Hello world",
+            "caf\u00e9",
+            "\u00e9t\u00e9",
+            "\u65e5\u672c\u8a9e",
+            "smile \ud83d\ude00",
+            "del \u007f nbsp \u00a0 max \uffff",
+            "line\nnext",
+            "line\n next",
+            "line\r\nnext",
+            "trailing\n",
+            "tab\there",
+            "escaped \\u00e9 kept");
+
+    @Test
+    public void testFastPathReturnsSameString() {
+
+        String s = "Plain ascii value, with = and : and \\ characters";
+        assertSame(s, I18nUtil.unicodeEscape(s));
+    }
+
+    @Test
+    public void testEscapes() {
+
+        assertEquals("caf\\u00E9", I18nUtil.unicodeEscape("caf\u00e9"));
+        assertEquals("\\u65E5", I18nUtil.unicodeEscape("\u65e5"));
+        assertEquals("a\\n\na", I18nUtil.unicodeEscape("a\na"));
+        assertEquals("a\\n b", I18nUtil.unicodeEscape("a\n b"));
+        assertEquals("a\\n", I18nUtil.unicodeEscape("a\n"));
+        assertEquals("a\\tb", I18nUtil.unicodeEscape("a\tb"));
+    }
+
+    @Test
+    public void testSameAsSlowPath() throws IOException {
+
+        for (String value : VALUES)
+            assertEscaped(value);
+
+        Random random = new Random(42);
+        char[] chars = {'a', 'Z', ' ', '\\', '\n', '\r', '\t', '\u007f', '\u0080', '\u00e9', '\u20ac', '\ud83d', '\ude00'};
+        for (int run = 0; run < 500; run++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int i = 0; i < length; i++)
+                sb.append(chars[random.nextInt(chars.length)]);
+            assertEscaped(sb.toString());
+        }
+    }
+
+    private static void assertEscaped(String value) throws IOException {
+
+        String expected = slowEscape(value);
+        assertEquals(expected, I18nUtil.unicodeEscape(value), value);
+
+        StringBuilder sb = new StringBuilder("prefix:");
+        I18nUtil.unicodeEscape(value, sb);
+        assertEquals("prefix:" + expected, sb.toString(), value);
+
+        StringWriter writer = new StringWriter();
+        I18nUtil.unicodeEscape(CharBuffer.wrap(value), writer);
+        assertEquals(expected, writer.toString(), value);
+    }
+
+    /**
+     * Escape as done before, char by char
+     */
+    private static String slowEscape(String s) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c >> 7) > 0) {
+                sb.append(String.format("\\u%04X", (int) c));
+            }
+            else if (c == '\n' || c == '\r') {
+                sb.append('\\').append(c == '\n' ? 'n' : 'r');
+                if (i<s.length()-1 && s.charAt(i+1) != ' ')
+                    sb.append(c);
+            }
+            else if (c == '\t') {
+                sb.append("\\t");
+            }
+            else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
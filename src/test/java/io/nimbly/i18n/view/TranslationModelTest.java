@@ -0,0 +1,72 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.view;
+
+import com.intellij.lang.properties.psi.PropertiesFile;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * TranslationModelTest
+ */
+public class TranslationModelTest extends BasePlatformTestCase {
+
+    public void testLoadedTranslations() {
+
+        PropertiesFile main = (PropertiesFile) myFixture.addFileToProject("labels.properties", "title=Title\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+        PropertiesFile de = (PropertiesFile) myFixture.addFileToProject("labels_de.properties", "other=Andere\n");
+
+        TranslationModel model = new TranslationModel("title", fr, null, getModule());
+        model.setSelectedKey("title");
+        ReadAction.run(model::loadTranslations);
+
+        TranslationModel.Translations translations = model.takeTranslations();
+        assertNotNull(translations);
+        assertEquals(Arrays.asList("fr", "de"), translations.getLanguages());
+        assertEquals("Titre", translations.getTranslation("fr"));
+        assertNull(translations.getTranslation("de"));
+        assertTrue(translations.hasTranslation());
+        assertTrue(translations.isWritable());
+        assertTrue(translations.isSelectedFileWritable());
+        assertSameElements(translations.getFiles(), main.getVirtualFile(), fr.getVirtualFile(), de.getVirtualFile());
+        assertEquals(Collections.singletonMap(fr, "labels"), translations.getResources());
+
+        // TIPS : applied once
+        assertNull(model.takeTranslations());
+    }
+
+    public void testKeyChangedSinceLoaded() {
+
+        myFixture.addFileToProject("labels.properties", "title=Title\n");
+        PropertiesFile fr = (PropertiesFile) myFixture.addFileToProject("labels_fr.properties", "title=Titre\n");
+
+        TranslationModel model = new TranslationModel("title", fr, null, getModule());
+        model.setSelectedKey("title");
+        ReadAction.run(model::loadTranslations);
+
+        model.setSelectedKey("missing");
+        assertNull(model.takeTranslations());
+
+        ReadAction.run(model::loadTranslations);
+        TranslationModel.Translations translations = model.takeTranslations();
+        assertNotNull(translations);
+        assertFalse(translations.hasTranslation());
+        assertFalse(translations.isWritable());
+    }
+}
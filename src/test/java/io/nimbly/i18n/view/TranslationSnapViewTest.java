@@ -0,0 +1,83 @@
+/*
+ * I18N
+ * Copyright (C) 2021  Maxime HAMM - NIMBLY CONSULTING - maxime.hamm.pro@gmail.com
+ *
+ * This document is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation; either version 2 of the License, or
+ * (at your option) any later version.
+ *
+ * This work is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ */
+package io.nimbly.i18n.view;
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase;
+
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+import java.awt.*;
+import java.awt.event.FocusListener;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * TranslationSnapViewTest
+ */
+public class TranslationSnapViewTest extends BasePlatformTestCase {
+
+    public void testRowsAreReused() {
+
+        TranslationSnapView view = new TranslationSnapView(getProject());
+        view.updateRows(Arrays.asList("en", "fr"));
+        JTextComponent en = view.getTranslationField(0);
+        JTextComponent fr = view.getTranslationField(1);
+
+        // added language : existing rows kept
+        view.updateRows(Arrays.asList("en", "fr", "de"));
+        assertEquals(Arrays.asList("en", "fr", "de"), view.getRowLanguages());
+        assertSame(en, view.getTranslationField(0));
+        assertSame(fr, view.getTranslationField(1));
+        JTextComponent de = view.getTranslationField(2);
+        assertSame(getTop(en), getTop(de));
+
+        // same languages : nothing changes
+        view.updateRows(Arrays.asList("en", "fr", "de"));
+        assertSame(de, view.getTranslationField(2));
+
+        // removed language : row dropped, others relabeled and kept
+        view.updateRows(Arrays.asList("en", "de"));
+        assertEquals(Arrays.asList("en", "de"), view.getRowLanguages());
+        assertSame(en, view.getTranslationField(0));
+        assertSame(fr, view.getTranslationField(1));
+        assertSame(getTop(en), getTop(fr));
+        assertNotSame(getTop(en), getTop(de));
+
+        // listeners of the dropped row are removed
+        for (FocusListener l : de.getFocusListeners())
+            assertFalse(l instanceof DocumentListener);
+    }
+
+    public void testNoRows() {
+
+        TranslationSnapView view = new TranslationSnapView(getProject());
+        view.updateRows(Arrays.asList("en", "fr"));
+        JTextComponent en = view.getTranslationField(0);
+        Component top = getTop(en);
+
+        view.updateRows(Collections.emptyList());
+        assertEmpty(view.getRowLanguages());
+        assertNotSame(top, getTop(en));
+    }
+
+    /**
+     * Gets top of the components tree, the rows panel holder while the row is displayed
+     */
+    private static Component getTop(Component component) {
+        while (component.getParent() != null)
+            component = component.getParent();
+        return component;
+    }
+}